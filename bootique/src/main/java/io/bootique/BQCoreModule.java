@@ -47,6 +47,7 @@ import io.bootique.help.ValueObjectDescriptor;
 import io.bootique.help.config.ConfigHelpGenerator;
 import io.bootique.help.config.DefaultConfigHelpGenerator;
 import io.bootique.help.config.HelpConfigCommand;
+import io.bootique.help.di.DIReportCommand;
 import io.bootique.jackson.DefaultJacksonService;
 import io.bootique.jackson.JacksonService;
 import io.bootique.jopt.JoptCliFactory;
@@ -64,6 +65,7 @@ import io.bootique.shutdown.ShutdownManager;
 import io.bootique.terminal.FixedWidthTerminal;
 import io.bootique.terminal.SttyTerminal;
 import io.bootique.terminal.Terminal;
+import io.bootique.trace.StartupTracer;
 import io.bootique.value.Bytes;
 import io.bootique.value.Duration;
 import io.bootique.value.Percent;
@@ -157,6 +159,11 @@ public class BQCoreModule implements BQModule {
                 .addConfigLoader(CliCustomOptionsConfigurationLoader.class)
                 .addConfigLoader(PropertiesConfigurationLoader.class);
 
+        // the diagnostic command is only available when the binding metrics are collected
+        if (DIReportCommand.isMetricsRequested(args)) {
+            BQCoreModule.extend(binder).addCommand(DIReportCommand.class);
+        }
+
         // bind instances
         binder.bind(BootLogger.class).toInstance(bootLogger);
         binder.bind(ShutdownManager.class).toInstance(shutdownManager);
@@ -228,6 +235,12 @@ public class BQCoreModule implements BQModule {
         return new HelpConfigCommand(bootLogger, helpGeneratorProvider);
     }
 
+    @Provides
+    @Singleton
+    DIReportCommand provideDIReportCommand(BootLogger bootLogger, Injector injector) {
+        return new DIReportCommand(bootLogger, injector);
+    }
+
     @Provides
     @Singleton
     CliFactory provideCliFactory(
@@ -239,7 +252,7 @@ public class BQCoreModule implements BQModule {
     @Provides
     @Singleton
     Cli provideCli(CliFactory cliFactory, @Args String[] args) {
-        return cliFactory.createCli(args);
+        return StartupTracer.call("CLI parsing", () -> cliFactory.createCli(args));
     }
 
     @Provides
@@ -310,10 +323,12 @@ public class BQCoreModule implements BQModule {
             ConfigHierarchyResolver hierarchyResolver,
             Map<Class<?>, ValueObjectDescriptor> valueObjectDescriptors) {
 
-        ConfigMetadataCompiler configCompiler =
-                new ConfigMetadataCompiler(logger, hierarchyResolver::directSubclasses, valueObjectDescriptors);
-        Collection<ModuleCrate> modules = modulesSource.get();
-        return new ModulesMetadataCompiler(configCompiler).compile(modules);
+        return StartupTracer.call("ModulesMetadata", () -> {
+            ConfigMetadataCompiler configCompiler =
+                    new ConfigMetadataCompiler(logger, hierarchyResolver::directSubclasses, valueObjectDescriptors);
+            Collection<ModuleCrate> modules = modulesSource.get();
+            return new ModulesMetadataCompiler(configCompiler).compile(modules);
+        });
     }
 
     @Provides
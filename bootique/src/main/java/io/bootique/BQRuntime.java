@@ -29,12 +29,23 @@ import io.bootique.meta.application.ApplicationMetadata;
 import io.bootique.meta.module.ModulesMetadata;
 import io.bootique.run.Runner;
 import io.bootique.shutdown.ShutdownManager;
+import io.bootique.trace.StartupTracer;
+
+import java.io.UncheckedIOException;
 
 /**
  * A wrapper around launcher DI container.
  */
 public class BQRuntime {
 
+    // reusing the keys of the common lookups by class, so that they are not recreated and rehashed on every call
+    private static final ClassValue<Key<?>> CLASS_KEYS = new ClassValue<>() {
+        @Override
+        protected Key<?> computeValue(Class<?> type) {
+            return Key.get(type);
+        }
+    };
+
     private final Injector injector;
 
     public BQRuntime(Injector injector) {
@@ -48,8 +59,9 @@ public class BQRuntime {
      * @param type a class or interface bound in DI.
      * @return a DI-bound instance of a given type.
      */
+    @SuppressWarnings("unchecked")
     public <T> T getInstance(Class<T> type) {
-        return getInstance(Key.get(type));
+        return getInstance((Key<T>) CLASS_KEYS.get(type));
     }
 
     /**
@@ -60,10 +72,11 @@ public class BQRuntime {
      * @return a DI-bound instance of a given type.
      */
     public <T> T getInstance(Key<T> diKey) {
-        if (!injector.hasProvider(diKey)) {
+        T instance = injector.getBoundInstance(diKey);
+        if (instance == null && !injector.hasProvider(diKey)) {
             throw new NullPointerException("No binding for key: " + diKey);
         }
-        return injector.getProvider(diKey).get();
+        return instance;
     }
 
     public BootLogger getBootLogger() {
@@ -76,7 +89,16 @@ public class BQRuntime {
      * @return outcome of the runner execution.
      */
     public CommandOutcome run() {
-        return getInstance(Runner.class).run();
+        CommandOutcome outcome = getInstance(Runner.class).run();
+
+        // the main command has started (and possibly forked to background), so the app startup is over
+        try {
+            StartupTracer.finishStartup();
+        } catch (UncheckedIOException e) {
+            getBootLogger().stderr("Error writing startup trace", e);
+        }
+
+        return outcome;
     }
 
     public String[] getArgs() {
@@ -25,10 +25,12 @@ import io.bootique.di.DIRuntimeException;
 import io.bootique.di.Injector;
 import io.bootique.di.Key;
 import io.bootique.env.DefaultEnvironment;
+import io.bootique.help.di.DIReportCommand;
 import io.bootique.log.BootLogger;
 import io.bootique.log.DefaultBootLogger;
 import io.bootique.shutdown.DefaultShutdownManager;
 import io.bootique.shutdown.ShutdownManager;
+import io.bootique.trace.StartupTracer;
 
 import java.lang.reflect.InvocationTargetException;
 import java.time.Duration;
@@ -255,12 +257,37 @@ public class Bootique {
     }
 
     private BQRuntime createRuntime(ShutdownManager shutdownManager, BootLogger logger) {
-        Injector injector = createInjector(shutdownManager, logger);
-        BQRuntime runtime = new BQRuntime(injector);
 
-        runtime.getInstance(Key.getSetOf(BQRuntimeListener.class)).forEach(sl -> sl.onRuntimeCreated(runtime));
-        injector.reportWarnings(logger);
-        return runtime;
+        // the trace is written once the main command has started (see BQRuntime.run()), so that it includes the
+        // phases that happen lazily when the command runs (CLI parsing, config loading, etc.). Shutdown is a fallback
+        // for the runtimes that are never run or whose command has failed
+        StartupTracer tracer = StartupTracer.startIfEnabled();
+        if (tracer != null) {
+            logger.trace(() -> "Tracing startup to " + tracer.getFile());
+            shutdownManager.onShutdown(tracer);
+        }
+
+        try {
+            return StartupTracer.call("createRuntime", () -> {
+                Injector injector = createInjector(shutdownManager, logger);
+                BQRuntime runtime = new BQRuntime(injector);
+
+                StartupTracer.run("BQRuntimeListeners", () -> runtime
+                        .getInstance(Key.getSetOf(BQRuntimeListener.class))
+                        .forEach(sl -> sl.onRuntimeCreated(runtime)));
+
+                injector.reportWarnings(logger);
+                return runtime;
+            });
+        } catch (RuntimeException | Error e) {
+
+            // the runtime may never be shut down, so write what we've got so far
+            if (tracer != null) {
+                tracer.close();
+            }
+
+            throw e;
+        }
     }
 
     /**
@@ -376,16 +403,23 @@ public class Bootique {
         crates.addAll(this.crates);
 
         if (autoLoadModules) {
-            autoLoadedModules().forEach(m -> crates.add(m.crate()));
+            StartupTracer.run("autoLoadModules", () -> autoLoadedModules().forEach(m -> crates.add(m.crate())));
         }
 
-        List<ModuleCrate> sortedCrates = new ModulesSorter(logger).uniqueCratesInLoadOrder(crates);
+        List<ModuleCrate> sortedCrates = StartupTracer.call(
+                "ModulesSorter",
+                () -> new ModulesSorter(logger).uniqueCratesInLoadOrder(crates));
 
         // before returning the Injector, finish 'moduleMetadata' initialization
         modulesSource.init(sortedCrates);
 
         BQModule[] modules = sortedCrates.stream().map(ModuleCrate::getModule).toArray(BQModule[]::new);
-        return DIBootstrap.injectorBuilder(modules).build();
+        DIBootstrap.InjectorBuilder builder = DIBootstrap.injectorBuilder(modules);
+        if (DIReportCommand.isMetricsRequested(args)) {
+            builder.enableBindingMetrics();
+        }
+
+        return StartupTracer.call("createInjector", builder::build);
     }
 
     List<BQModule> autoLoadedModules() {
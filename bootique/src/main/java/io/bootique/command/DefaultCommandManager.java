@@ -21,14 +21,17 @@ package io.bootique.command;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
 
 public class DefaultCommandManager implements CommandManager {
 
     private final Map<String, ManagedCommand> commands;
+    private final ReentrantLock commandsByTypeLock;
     private volatile Map<Class, ManagedCommand> commandsByType;
 
     public DefaultCommandManager(Map<String, ManagedCommand> commands) {
         this.commands = commands;
+        this.commandsByTypeLock = new ReentrantLock();
     }
 
     @Override
@@ -50,10 +53,13 @@ public class DefaultCommandManager implements CommandManager {
         // lookup by class is an edge case used by command decorators and such, so create index on demand
 
         if (commandsByType == null) {
-            synchronized (this) {
+            commandsByTypeLock.lock();
+            try {
                 if (commandsByType == null) {
                     commandsByType = createCommandsByType();
                 }
+            } finally {
+                commandsByTypeLock.unlock();
             }
         }
 
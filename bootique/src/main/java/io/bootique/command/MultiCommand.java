@@ -22,6 +22,7 @@ package io.bootique.command;
 import io.bootique.BootiqueException;
 import io.bootique.cli.Cli;
 import io.bootique.cli.CliFactory;
+import io.bootique.jfr.CommandEvent;
 import io.bootique.log.BootLogger;
 import jakarta.inject.Provider;
 
@@ -136,13 +137,17 @@ class MultiCommand extends CommandWithMetadata {
 
     private CommandOutcome run(CommandRefWithArgs cmdRef, Consumer<CommandOutcome> outcomeListener) {
 
+        CommandEvent event = new CommandEvent();
+        event.begin();
+
         CommandOutcome outcome;
         CommandManager commandManager = getCommandManager();
+        Command command = null;
 
         // wrap both command resolving and execution in try/catch... Both can have errors...
         try {
             Cli cli = getCliFactory().createCli(cmdRef.getArgs());
-            Command command = cmdRef.resolve(commandManager);
+            command = cmdRef.resolve(commandManager);
             outcome = command.run(cli);
         }
         // TODO: we need to distinguish between interrupts and other errors and re-throw interrupts
@@ -155,6 +160,13 @@ class MultiCommand extends CommandWithMetadata {
             outcome = CommandOutcome.failed(1, e);
         }
 
+        if (event.shouldCommit()) {
+            event.setCommand(command != null ? command.getMetadata().getName() : null);
+            event.setMain(false);
+            event.setSuccess(outcome.isSuccess());
+            event.commit();
+        }
+
         // log the real outcome
         outcomeListener.accept(outcome);
 
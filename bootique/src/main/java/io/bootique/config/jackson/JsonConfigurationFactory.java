@@ -28,6 +28,7 @@ import com.fasterxml.jackson.databind.type.TypeFactory;
 import io.bootique.config.ConfigurationFactory;
 import io.bootique.config.jackson.path.CiPropertySegment;
 import io.bootique.config.jackson.path.PathSegment;
+import io.bootique.jfr.ConfigEvent;
 import io.bootique.type.TypeRef;
 
 import java.io.IOException;
@@ -53,32 +54,57 @@ public class JsonConfigurationFactory implements ConfigurationFactory {
     @Override
     public <T> T config(Class<T> type, String prefix) {
 
+        ConfigEvent event = new ConfigEvent();
+        event.begin();
+
         JsonNode child = findChild(prefix);
 
+        boolean success = false;
         try {
-            return mapper.readValue(new TreeTraversingParser(child, mapper), type);
+            T config = mapper.readValue(new TreeTraversingParser(child, mapper), type);
+            success = true;
+            return config;
         }
         // TODO: implement better exception handling. See ConfigurationFactory
         // in Dropwizard for inspiration
         catch (IOException e) {
             throw new RuntimeException("Error creating config", e);
+        } finally {
+            commit(event, type.getName(), prefix, success);
         }
     }
 
     @Override
     public <T> T config(TypeRef<? extends T> type, String prefix) {
 
+        ConfigEvent event = new ConfigEvent();
+        event.begin();
+
         JsonNode child = findChild(prefix);
 
         JavaType jacksonType = typeFactory.constructType(type.getType());
 
+        boolean success = false;
         try {
-            return mapper.readValue(new TreeTraversingParser(child, mapper), jacksonType);
+            T config = mapper.readValue(new TreeTraversingParser(child, mapper), jacksonType);
+            success = true;
+            return config;
         }
         // TODO: implement better exception handling. See ConfigurationFactory
         // in Dropwizard for inspiration
         catch (IOException e) {
             throw new RuntimeException("Error creating config", e);
+        } finally {
+            commit(event, jacksonType.toCanonical(), prefix, success);
+        }
+    }
+
+    private static void commit(ConfigEvent event, String type, String prefix, boolean success) {
+        if (event.shouldCommit()) {
+            event.setType(type);
+            event.setPrefix(prefix);
+            event.setSuccess(success);
+            event.commit();
         }
     }
 
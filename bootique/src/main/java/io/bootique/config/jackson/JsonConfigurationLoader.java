@@ -21,6 +21,8 @@ package io.bootique.config.jackson;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.bootique.jfr.ConfigLoadEvent;
+import io.bootique.trace.StartupTracer;
 
 import java.util.ArrayList;
 import java.util.Comparator;
@@ -37,15 +39,33 @@ public interface JsonConfigurationLoader {
 
     static JsonNode load(Set<JsonConfigurationLoader> loaders) {
 
+        ConfigLoadEvent event = new ConfigLoadEvent();
+        event.begin();
+
         List<JsonConfigurationLoader> ordered = new ArrayList<>(loaders);
         ordered.sort(Comparator.comparing(JsonConfigurationLoader::getOrder));
 
-        JsonNode root = new ObjectNode(new JsonNodeFactory(true));
-        for (JsonConfigurationLoader loader : ordered) {
-            root = loader.updateConfiguration(root);
-        }
+        boolean success = false;
+        try {
+            JsonNode root = StartupTracer.call("config load", () -> {
+                JsonNode node = new ObjectNode(new JsonNodeFactory(true));
+                for (JsonConfigurationLoader loader : ordered) {
+                    JsonNode input = node;
+                    node = StartupTracer.call("config loader", loader, () -> loader.updateConfiguration(input));
+                }
 
-        return root;
+                return node;
+            });
+
+            success = true;
+            return root;
+        } finally {
+            if (event.shouldCommit()) {
+                event.setLoaders(ordered.size());
+                event.setSuccess(success);
+                event.commit();
+            }
+        }
     }
 
 
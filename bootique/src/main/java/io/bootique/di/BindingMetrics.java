@@ -0,0 +1,98 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di;
+
+import java.time.Duration;
+
+/**
+ * A snapshot of instantiation statistics of a single injector binding. Construction times are exclusive, i.e. they
+ * don't include the time spent creating the binding dependencies. Only collected when the injector is built with
+ * {@link DIBootstrap.InjectorBuilder#enableBindingMetrics()}.
+ *
+ * @see Injector#getBindingMetrics()
+ * @since 4.0
+ */
+public class BindingMetrics {
+
+    private final Key<?> key;
+    private final boolean singleton;
+    private final long count;
+    private final long totalNanos;
+    private final long maxNanos;
+    private final String lastThread;
+
+    public BindingMetrics(Key<?> key, boolean singleton, long count, long totalNanos, long maxNanos, String lastThread) {
+        this.key = key;
+        this.singleton = singleton;
+        this.count = count;
+        this.totalNanos = totalNanos;
+        this.maxNanos = maxNanos;
+        this.lastThread = lastThread;
+    }
+
+    public Key<?> getKey() {
+        return key;
+    }
+
+    /**
+     * Returns whether the binding is in the singleton scope.
+     */
+    public boolean isSingleton() {
+        return singleton;
+    }
+
+    /**
+     * Returns how many objects were created by the binding.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the cumulative construction time of all the objects created by the binding.
+     */
+    public Duration getTotalTime() {
+        return Duration.ofNanos(totalNanos);
+    }
+
+    /**
+     * Returns the longest construction time of a single object created by the binding.
+     */
+    public Duration getMaxTime() {
+        return Duration.ofNanos(maxNanos);
+    }
+
+    /**
+     * Returns the name of the thread that created the last object of the binding.
+     */
+    public String getLastThread() {
+        return lastThread;
+    }
+
+    @Override
+    public String toString() {
+        return "BindingMetrics{" + key
+                + ", count=" + count
+                + ", totalNanos=" + totalNanos
+                + ", maxNanos=" + maxNanos
+                + ", thread=" + lastThread
+                + "}";
+    }
+}
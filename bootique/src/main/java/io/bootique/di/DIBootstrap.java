@@ -29,6 +29,7 @@ import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
+import java.time.Duration;
 import java.util.Collection;
 import java.util.EnumSet;
 import java.util.Set;
@@ -89,6 +90,7 @@ public class DIBootstrap {
         private Set<DefaultInjector.Options> options;
         private InjectorPredicates injectorPredicates;
         private BQModule[] modules;
+        private Duration shutdownListenerTimeout;
 
         private InjectorBuilder(BQModule... modules) {
             this.options = EnumSet.noneOf(DefaultInjector.Options.class);
@@ -152,6 +154,19 @@ public class DIBootstrap {
             return this;
         }
 
+        /**
+         * Record nothing during normal injection and rebuild the injection trace from the stack of keys being
+         * resolved only when an error occurs. The resulting trace is less detailed than the default one, but has no
+         * overhead on the success path. Ignored if the trace is disabled.
+         *
+         * @return this
+         * @since 4.0
+         */
+        public InjectorBuilder lazyTrace() {
+            this.options.add(DefaultInjector.Options.LAZY_TRACE);
+            return this;
+        }
+
         /**
          * Disable auto-proxy creation for simple circular dependencies resolution
          *
@@ -162,6 +177,84 @@ public class DIBootstrap {
             return this;
         }
 
+        /**
+         * Validate the injector dependency graph when it is created, failing if any problems are found.
+         * See {@link Injector#validate()} for details. As a side effect, bindings proven to be acyclic skip the
+         * runtime cycle detection, unless the {@link #lazyTrace() lazy trace} is enabled. Disabled by default.
+         *
+         * @return this
+         * @since 4.0
+         */
+        public InjectorBuilder enableValidation() {
+            options.add(DefaultInjector.Options.VALIDATE);
+            return this;
+        }
+
+        /**
+         * Initialize bindings marked with "initOnStartup()" concurrently on virtual threads. Bindings that have no
+         * common dependency cycles are initialized independently, while the rest are initialized sequentially
+         * within their group. Disabled by default.
+         *
+         * @return this
+         * @since 4.0
+         */
+        public InjectorBuilder parallelEarlySetup() {
+            options.add(DefaultInjector.Options.PARALLEL_EARLY_SETUP);
+            return this;
+        }
+
+        /**
+         * Deliver the shutdown events to singletons in the reverse order of their dependencies, with the default
+         * timeout per singleton. See {@link #parallelShutdown(Duration)}.
+         *
+         * @return this
+         * @since 4.0
+         */
+        public InjectorBuilder parallelShutdown() {
+            return parallelShutdown(DefaultInjector.DEFAULT_SHUTDOWN_LISTENER_TIMEOUT);
+        }
+
+        /**
+         * Deliver the shutdown events to singletons in the reverse order of their dependencies, notifying the
+         * independent singletons concurrently on virtual threads. Each singleton is given the specified amount of
+         * time to process the event, and all the errors are collected and reported together once the injector is shut
+         * down. Disabled by default.
+         *
+         * @return this
+         * @since 4.0
+         */
+        public InjectorBuilder parallelShutdown(Duration listenerTimeout) {
+            options.add(DefaultInjector.Options.PARALLEL_SHUTDOWN);
+            this.shutdownListenerTimeout = listenerTimeout;
+            return this;
+        }
+
+        /**
+         * Return immutable sets and maps for the multibindings whose elements are all singletons or instances. Such
+         * collections are built once and shared by all the consumers, instead of being rebuilt on every injection.
+         * Disabled by default, as the consumers of unscoped multibindings may modify the collections they get.
+         *
+         * @return this
+         * @since 4.0
+         */
+        public InjectorBuilder immutableMultibindings() {
+            options.add(DefaultInjector.Options.IMMUTABLE_MULTIBINDINGS);
+            return this;
+        }
+
+        /**
+         * Collect instantiation statistics for each binding: the number of created objects, and their cumulative and
+         * maximum construction time exclusive of the dependencies. Adds a small overhead to every object creation.
+         * The statistics are available via {@link Injector#getBindingMetrics()}.
+         *
+         * @return this
+         * @since 4.0
+         */
+        public InjectorBuilder enableBindingMetrics() {
+            options.add(DefaultInjector.Options.BINDING_METRICS);
+            return this;
+        }
+
         /**
          * Set custom predicate for methods in modules that should be used as providers.
          * Default predicate test methods for {@link Provides} annotation.
@@ -252,7 +345,11 @@ public class DIBootstrap {
          * @return injector
          */
         public Injector build() {
-            return new DefaultInjector(options, injectorPredicates, modules);
+            DefaultInjector injector = new DefaultInjector(options, injectorPredicates, modules);
+            if (shutdownListenerTimeout != null) {
+                injector.setShutdownListenerTimeout(shutdownListenerTimeout);
+            }
+            return injector;
         }
     }
 
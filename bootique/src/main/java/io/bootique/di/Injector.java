@@ -19,6 +19,7 @@
 
 package io.bootique.di;
 
+import io.bootique.BQModule;
 import io.bootique.log.BootLogger;
 import jakarta.inject.Provider;
 
@@ -76,6 +77,18 @@ public interface Injector {
      */
     <T> Provider<T> getProvider(Key<T> key) throws DIRuntimeException;
 
+    /**
+     * Returns a service instance for a binding key that is bound in the container, or null if the key is not bound.
+     * Unlike {@link #getInstance(Key)}, never creates dynamic bindings. Also returns null for an optional binding
+     * without an implementation, so callers that need to tell the two cases apart should check
+     * {@link #hasProvider(Key)} when the result is null.
+     *
+     * @since 4.0
+     */
+    default <T> T getBoundInstance(Key<T> key) throws DIRuntimeException {
+        return hasProvider(key) ? getProvider(key).get() : null;
+    }
+
     /**
      * @param type binding type to check
      * @return is provider for given type registered
@@ -143,6 +156,36 @@ public interface Injector {
      */
     Set<Key<?>> getKeys();
 
+    /**
+     * Analyzes the static dependency graph of all the bindings and throws a {@link DIRuntimeException} listing all
+     * the problems that would otherwise only be discovered at injection time, such as missing bindings,
+     * unsatisfiable injection points and unresolvable dependency cycles. Dependencies that can only be determined
+     * by running custom providers are not checked.
+     *
+     * @since 4.0
+     */
+    void validate() throws DIRuntimeException;
+
+    /**
+     * Creates a child injector that contains the bindings from the provided modules and delegates resolution of all
+     * the other keys to this injector. The child only runs its own modules, and shares the already created singletons
+     * of the parent, so its cost is proportional to the number of its own bindings. Parent bindings are resolved
+     * entirely within the parent, and never see the child bindings. Child multibindings replace the parent ones with
+     * the same key instead of extending them. Shutting down the child doesn't affect the parent.
+     *
+     * @since 4.0
+     */
+    Injector createChildInjector(BQModule... modules) throws DIRuntimeException;
+
+    /**
+     * Returns instantiation statistics of the bindings of this injector that created at least one object. Returns an
+     * empty collection, unless the injector was built with {@link DIBootstrap.InjectorBuilder#enableBindingMetrics()}.
+     * Bindings inherited from a parent injector are not included.
+     *
+     * @since 4.0
+     */
+    Collection<BindingMetrics> getBindingMetrics();
+
     /**
      * Report any warnings found in the injector
      *
@@ -152,6 +152,7 @@ public class Key<T> {
 
     private final TypeLiteral<T> type;
     private final KeyQualifier qualifier;
+    private final int hash;
 
     protected Key(TypeLiteral<T> type, String bindingName) {
         this.type = TypeLiteral.normalize(type);
@@ -159,6 +160,7 @@ public class Key<T> {
         this.qualifier = bindingName != null && bindingName.length() > 0
                 ? new NamedKeyQualifier(bindingName)
                 : NO_QUALIFIER;
+        this.hash = hash(this.type, qualifier);
     }
 
     protected Key(TypeLiteral<T> type, Class<? extends Annotation> annotationType) {
@@ -167,6 +169,7 @@ public class Key<T> {
         this.qualifier = annotationType == null
                 ? NO_QUALIFIER
                 : new AnnotationTypeQualifier(annotationType);
+        this.hash = hash(this.type, qualifier);
     }
 
     protected Key(TypeLiteral<T> type, Annotation annotationInstance) {
@@ -182,6 +185,11 @@ public class Key<T> {
             // general case
             this.qualifier = new AnnotationTypeQualifier(annotationInstance.annotationType());
         }
+        this.hash = hash(this.type, qualifier);
+    }
+
+    private static int hash(TypeLiteral<?> type, KeyQualifier qualifier) {
+        return 407 + 11 * type.hashCode() + qualifier.hashCode();
     }
 
     public TypeLiteral<T> getType() {
@@ -215,6 +223,10 @@ public class Key<T> {
 
         if (object instanceof Key<?> key) {
 
+            if (hash != key.hash) {
+                return false;
+            }
+
             // type is guaranteed to be not null, so skip null checking...
             if (!type.equals(key.type)) {
                 return false;
@@ -229,7 +241,7 @@ public class Key<T> {
 
     @Override
     public int hashCode() {
-        return 407 + 11 * type.hashCode() + qualifier.hashCode();
+        return hash;
     }
 
     @Override
@@ -0,0 +1,39 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.bootique.di;
+
+import jakarta.inject.Provider;
+
+/**
+ * An injectable reference to an object that is created on the first call to {@link #get()}. Unlike a regular
+ * {@link Provider}, subsequent calls return the same object regardless of the binding scope. Injecting a
+ * {@code Lazy<T>} in place of {@code T} defers the creation of an expensive object (and its dependencies) until the
+ * code path that needs it is executed. Supported for constructor, field, method and provider method injection.
+ *
+ * @since 4.0
+ */
+public interface Lazy<T> extends Provider<T> {
+
+    /**
+     * Returns the referenced object, creating it on the first call. Concurrent first calls create the object only
+     * once.
+     */
+    @Override
+    T get();
+}
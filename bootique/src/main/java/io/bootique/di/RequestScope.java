@@ -0,0 +1,267 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.bootique.di;
+
+import jakarta.inject.Provider;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A scope that ties instances to a unit of work, such as a request or a job. Each {@link #run(Runnable)} or
+ * {@link #call(Callable)} invocation opens a new scope context, so the scoped bindings resolved within it return the
+ * same instance for the duration of the call. When the call exits, the context ends, and the methods of its
+ * instances annotated with {@link BeforeScopeEnd} are invoked in the reverse order of instance creation. Resolving
+ * a scoped binding outside an open context results in an exception.
+ * <p>
+ * A scope context is only visible to the thread that opened it. Nested calls open nested contexts that don't share
+ * instances with the outer ones. Bindings are assigned to the scope via {@link ScopeBuilder#in(Scope)}:
+ * <pre>
+ * RequestScope requestScope = new RequestScope();
+ * binder.bind(MyService.class).to(MyServiceImpl.class).in(requestScope);
+ *
+ * requestScope.run(() -&gt; injector.getInstance(MyService.class).doWork());
+ * </pre>
+ *
+ * @since 4.0
+ */
+public class RequestScope implements Scope {
+
+    private static final MethodHandle[] NO_HANDLERS = new MethodHandle[0];
+
+    // the handlers don't depend on the scope instance, so they are cached once per class for all the scopes
+    private static final ClassValue<MethodHandle[]> END_HANDLERS = new ClassValue<>() {
+        @Override
+        protected MethodHandle[] computeValue(Class<?> type) {
+            return collectEndHandlers(type);
+        }
+    };
+
+    private final ThreadLocal<Context> context;
+    private final AtomicInteger slots;
+
+    public RequestScope() {
+        this.context = new ThreadLocal<>();
+        this.slots = new AtomicInteger();
+    }
+
+    /**
+     * Runs a task within a new scope context.
+     */
+    public void run(Runnable task) {
+        Context previous = context.get();
+        Context current = new Context();
+        context.set(current);
+
+        Throwable failure = null;
+        try {
+            task.run();
+        } catch (Throwable th) {
+            failure = th;
+            throw th;
+        } finally {
+            restore(previous);
+            current.end(failure);
+        }
+    }
+
+    /**
+     * Calls a task within a new scope context, returning its result.
+     */
+    public <T> T call(Callable<T> task) throws Exception {
+        Context previous = context.get();
+        Context current = new Context();
+        context.set(current);
+
+        Throwable failure = null;
+        try {
+            return task.call();
+        } catch (Throwable th) {
+            failure = th;
+            throw th;
+        } finally {
+            restore(previous);
+            current.end(failure);
+        }
+    }
+
+    /**
+     * Returns whether the calling thread is running within a scope context.
+     */
+    public boolean isActive() {
+        return context.get() != null;
+    }
+
+    @Override
+    public <T> Provider<T> scope(Provider<T> unscoped) {
+        return new ScopedProvider<>(unscoped, slots.getAndIncrement());
+    }
+
+    private void restore(Context previous) {
+        if (previous != null) {
+            context.set(previous);
+        } else {
+            context.remove();
+        }
+    }
+
+    private static MethodHandle[] collectEndHandlers(Class<?> type) {
+
+        List<MethodHandle> handlers = new ArrayList<>(1);
+
+        // 'getMethods' grabs public method from the class and its superclasses...
+        for (Method method : type.getMethods()) {
+            if (method.isAnnotationPresent(BeforeScopeEnd.class)) {
+
+                // allow public methods of non-public classes to be annotated
+                method.setAccessible(true);
+                try {
+                    handlers.add(MethodHandles.lookup()
+                            .unreflect(method)
+                            .asType(MethodType.methodType(void.class, Object.class)));
+                } catch (IllegalAccessException | RuntimeException e) {
+                    throw new DIRuntimeException("Can't access event method %s", e, method.getName());
+                }
+            }
+        }
+
+        return handlers.isEmpty() ? NO_HANDLERS : handlers.toArray(NO_HANDLERS);
+    }
+
+    private class ScopedProvider<T> implements Provider<T> {
+
+        private final Provider<T> delegate;
+        private final int slot;
+
+        ScopedProvider(Provider<T> delegate, int slot) {
+            this.delegate = delegate;
+            this.slot = slot;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public T get() {
+            Context current = context.get();
+            if (current == null) {
+                throw new DIRuntimeException("Request scope is not active in the current thread");
+            }
+
+            Object instance = current.get(slot);
+            if (instance == null) {
+                instance = delegate.get();
+                if (instance == null) {
+                    throw new DIRuntimeException("Underlying provider (%s) returned NULL instance", delegate);
+                }
+
+                current.put(slot, instance, END_HANDLERS.get(instance.getClass()));
+            }
+
+            return (T) instance;
+        }
+    }
+
+    /**
+     * Instances of a single scope context. Only accessed by the thread that opened the context.
+     */
+    private static class Context {
+
+        private static final Object[] EMPTY = new Object[0];
+
+        private Object[] instances;
+        private Object[] endListeners;
+        private MethodHandle[][] endListenerHandlers;
+        private int endListenerCount;
+
+        Context() {
+            this.instances = EMPTY;
+        }
+
+        Object get(int slot) {
+            return slot < instances.length ? instances[slot] : null;
+        }
+
+        void put(int slot, Object instance, MethodHandle[] handlers) {
+            if (slot >= instances.length) {
+                instances = Arrays.copyOf(instances, Math.max(slot + 1, instances.length * 2));
+            }
+            instances[slot] = instance;
+
+            if (handlers.length > 0 && !isEndListener(instance)) {
+                if (endListeners == null) {
+                    endListeners = new Object[4];
+                    endListenerHandlers = new MethodHandle[4][];
+                } else if (endListenerCount == endListeners.length) {
+                    endListeners = Arrays.copyOf(endListeners, endListenerCount * 2);
+                    endListenerHandlers = Arrays.copyOf(endListenerHandlers, endListenerCount * 2);
+                }
+
+                endListeners[endListenerCount] = instance;
+                endListenerHandlers[endListenerCount] = handlers;
+                endListenerCount++;
+            }
+        }
+
+        // the same instance may be stored under more than one slot, e.g. for an interface and its implementation
+        private boolean isEndListener(Object instance) {
+            for (int i = 0; i < endListenerCount; i++) {
+                if (endListeners[i] == instance) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Notifies all the instances of the scope end. An exception thrown by a listener doesn't prevent notifying
+         * the rest of them. The first exception is rethrown, unless the scope was ended by an exception already.
+         */
+        void end(Throwable failure) {
+            RuntimeException error = null;
+
+            for (int i = endListenerCount - 1; i >= 0; i--) {
+                for (MethodHandle handler : endListenerHandlers[i]) {
+                    try {
+                        handler.invokeExact(endListeners[i]);
+                    } catch (Throwable th) {
+                        DIRuntimeException e = new DIRuntimeException("Error invoking event method of %s", th,
+                                endListeners[i].getClass().getName());
+                        if (failure != null) {
+                            failure.addSuppressed(e);
+                        } else if (error == null) {
+                            error = e;
+                        } else {
+                            error.addSuppressed(e);
+                        }
+                    }
+                }
+            }
+
+            if (error != null) {
+                throw error;
+            }
+        }
+    }
+}
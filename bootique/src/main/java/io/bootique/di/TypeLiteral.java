@@ -32,77 +32,93 @@ import java.util.*;
 public class TypeLiteral<T> {
 
     private static final Class<?> WILDCARD_MARKER = WildcardMarker.class;
+    private static final TypeLiteral<?>[] NO_ARGUMENTS = new TypeLiteral<?>[0];
+
+    // canonical literals for non-generic types, so that resolving a Class needs no allocation
+    private static final ClassValue<TypeLiteral<?>> CLASS_LITERALS = new ClassValue<>() {
+        @Override
+        protected TypeLiteral<?> computeValue(Class<?> type) {
+            return new TypeLiteral<>(type, NO_ARGUMENTS);
+        }
+    };
 
     private final Class<? super T> type;
-    private final String typeName;
-    private final String[] argumentTypes;
+    private final TypeLiteral<?>[] argumentTypes;
+    private final int hash;
+
+    // lazily built and cached string form
+    private String name;
 
+    @SuppressWarnings("unchecked")
     public static <T> TypeLiteral<T> of(Class<T> type) {
-        return new TypeLiteral<>(type);
+        return (TypeLiteral<T>) CLASS_LITERALS.get(Objects.requireNonNull(type, "No type"));
     }
 
+    @SuppressWarnings("unchecked")
     public static <T> TypeLiteral<T> of(Type type) {
-        return new TypeLiteral<>(type);
+        return (TypeLiteral<T>) literal(Objects.requireNonNull(type, "No type"));
     }
 
     public static <T> TypeLiteral<T> of(Class<T> rawType, Type... parameters) {
-        return new TypeLiteral<>(rawType, parameters);
+        return parameters.length > 0
+                ? new TypeLiteral<>(Objects.requireNonNull(rawType, "No class"), literals(parameters))
+                : of(rawType);
     }
 
     /**
      * Creates TypeLiteral that represents List&lt;T&gt; type.
      */
     public static <T> TypeLiteral<List<T>> listOf(Class<? extends T> type) {
-        return new TypeLiteral<>(List.class, type);
+        return new TypeLiteral<>(List.class, of(type));
     }
 
     /**
      * Creates TypeLiteral that represents List&lt;T&gt; type.
      */
     public static <T> TypeLiteral<List<T>> listOf(TypeLiteral<? extends T> type) {
-        return new TypeLiteral<>(List.class, type.toString());
+        return new TypeLiteral<>(List.class, normalize(type));
     }
 
     /**
      * Creates TypeLiteral that represents Set&lt;T&lt; type.
      */
     public static <T> TypeLiteral<Set<T>> setOf(Class<? extends T> valueType) {
-        return new TypeLiteral<>(Set.class, valueType);
+        return new TypeLiteral<>(Set.class, of(valueType));
     }
 
     /**
      * Creates TypeLiteral that represents Set&lt;T&lt; type.
      */
     public static <T> TypeLiteral<Set<T>> setOf(TypeLiteral<? extends T> valueType) {
-        return new TypeLiteral<>(Set.class, valueType.toString());
+        return new TypeLiteral<>(Set.class, normalize(valueType));
     }
 
     /**
      * Creates TypeLiteral that represents Map&lt;K, V&lt; type.
      */
     public static <K, V> TypeLiteral<Map<K, V>> mapOf(Class<? extends K> keyType, Class<? extends V> valueType) {
-        return new TypeLiteral<>(Map.class, keyType, valueType);
+        return new TypeLiteral<>(Map.class, of(keyType), of(valueType));
     }
 
     /**
      * Creates TypeLiteral that represents Map&lt;K, V&lt; type.
      */
     public static <K, V> TypeLiteral<Map<K, V>> mapOf(TypeLiteral<? extends K> keyType, TypeLiteral<? extends V> valueType) {
-        return new TypeLiteral<>(Map.class, keyType.toString(), valueType.toString());
+        return new TypeLiteral<>(Map.class, normalize(keyType), normalize(valueType));
     }
 
     /**
      * Creates TypeLiteral that represents Optional&lt;T&lt; type.
      */
     public static <T> TypeLiteral<Optional<T>> optionalOf(Class<? extends T> type) {
-        return new TypeLiteral<>(Optional.class, type);
+        return new TypeLiteral<>(Optional.class, of(type));
     }
 
     /**
      * Creates TypeLiteral that represents Optional&lt;T&lt; type.
      */
     public static <T> TypeLiteral<Optional<T>> optionalOf(TypeLiteral<? extends T> type) {
-        return new TypeLiteral<>(Optional.class, type.toString());
+        return new TypeLiteral<>(Optional.class, normalize(type));
     }
 
     /**
@@ -115,46 +131,35 @@ public class TypeLiteral<T> {
             return type;
         }
         // just recreate it with same content
-        return new TypeLiteral<>(type.getRawType(), type.argumentTypes);
+        return new TypeLiteral<>(type.type, type.argumentTypes, type.hash);
     }
 
     @SuppressWarnings("unchecked")
     protected TypeLiteral() {
-        Type genericType = getGenericSuperclassType(getClass());
-        this.type = (Class<T>) getRawType(genericType);
-        this.typeName = type.getName();
-        Type[] argumentTypes = getArgumentTypes(genericType);
-        this.argumentTypes = new String[argumentTypes.length];
-        initArgumentTypes(argumentTypes);
+        TypeLiteral<?> literal = literal(getGenericSuperclassType(getClass()));
+        this.type = (Class<? super T>) literal.type;
+        this.argumentTypes = literal.argumentTypes;
+        this.hash = literal.hash;
     }
 
-    @SuppressWarnings("unchecked")
-    private TypeLiteral(Type type) {
-        this.type = (Class<T>) getRawType(Objects.requireNonNull(type, "No type"));
-        this.typeName = this.type.getName();
-        Type[] argumentTypes = getArgumentTypes(type);
-        this.argumentTypes = new String[argumentTypes.length];
-        initArgumentTypes(argumentTypes);
-    }
-
-    private TypeLiteral(Class<? super T> type, String... argumentTypes) {
+    private TypeLiteral(Class<? super T> type, TypeLiteral<?>... argumentTypes) {
         this.type = type;
-        this.typeName = type.getName();
         this.argumentTypes = argumentTypes;
+        this.hash = hash(type, argumentTypes);
     }
 
-    private TypeLiteral(Class<? super T> type, Type... argumentsType) {
-        this.type = Objects.requireNonNull(type, "No class");
-        this.typeName = type.getName();
-        this.argumentTypes = new String[argumentsType.length];
-        initArgumentTypes(argumentsType);
+    private TypeLiteral(Class<? super T> type, TypeLiteral<?>[] argumentTypes, int hash) {
+        this.type = type;
+        this.argumentTypes = argumentTypes;
+        this.hash = hash;
     }
 
-    private void initArgumentTypes(Type... argumentsType) {
-        for (int i = 0; i < argumentsType.length; i++) {
-            // recursively resolve argument types..
-            this.argumentTypes[i] = new TypeLiteral<>(argumentsType[i]).toString();
+    private static int hash(Class<?> type, TypeLiteral<?>[] argumentTypes) {
+        int result = type.getName().hashCode();
+        for (TypeLiteral<?> argumentType : argumentTypes) {
+            result = 31 * result + argumentType.hash;
         }
+        return result;
     }
 
     private static Type getGenericSuperclassType(Class<?> subclass) {
@@ -175,11 +180,10 @@ public class TypeLiteral<T> {
             return true;
         }
 
-        if (o instanceof TypeLiteral tl) {
-            if (!typeName.equals(tl.typeName)) {
-                return false;
-            }
-            return Arrays.equals(argumentTypes, tl.argumentTypes);
+        if (o instanceof TypeLiteral<?> tl) {
+            return hash == tl.hash
+                    && type == tl.type
+                    && Arrays.equals(argumentTypes, tl.argumentTypes);
         }
 
         return false;
@@ -187,58 +191,69 @@ public class TypeLiteral<T> {
 
     @Override
     public int hashCode() {
-        int result = typeName.hashCode();
-        result = 31 * result + Arrays.hashCode(argumentTypes);
-        return result;
+        return hash;
     }
 
     @Override
     public String toString() {
-        String result = typeName;
-        if (argumentTypes.length > 0) {
-            result += Arrays.toString(argumentTypes);
+        String result = name;
+        if (result == null) {
+            name = result = buildName();
         }
         return result;
     }
 
-    private static Type[] getArgumentTypes(Type type) {
-        if (type instanceof Class) {
-            return new Type[0];
-        } else if (type instanceof ParameterizedType pt) {
-            return pt.getActualTypeArguments();
-        } else if (type instanceof GenericArrayType gat) {
-            if (gat.getGenericComponentType() instanceof ParameterizedType pt) {
-                return pt.getActualTypeArguments();
+    private String buildName() {
+        if (argumentTypes.length == 0) {
+            return type.getName();
+        }
+
+        StringBuilder buffer = new StringBuilder(type.getName()).append('[');
+        for (int i = 0; i < argumentTypes.length; i++) {
+            if (i > 0) {
+                buffer.append(", ");
             }
-            throw new IllegalArgumentException("Expected ParameterizedType, got " + gat.getGenericComponentType());
-        } else if (type instanceof WildcardType wt) {
-            Type[] lowerBounds = wt.getLowerBounds();
-            Type[] upperBounds = wt.getUpperBounds();
-            Type lower = lowerBounds.length > 0 ? wt.getLowerBounds()[0] : Object.class;
-            Type upper = upperBounds.length > 0 ? wt.getUpperBounds()[0] : Object.class;
-            return new Type[]{lower, upper};
-        } else if (type instanceof TypeVariable) {
-            throw new DIRuntimeException("Variable type %s can't be fully resolved", type);
-        } else {
-            return new Type[]{type};
+            buffer.append(argumentTypes[i]);
+        }
+        return buffer.append(']').toString();
+    }
+
+    private static TypeLiteral<?>[] literals(Type[] types) {
+        int len = types.length;
+        if (len == 0) {
+            return NO_ARGUMENTS;
         }
+
+        TypeLiteral<?>[] literals = new TypeLiteral<?>[len];
+        for (int i = 0; i < len; i++) {
+            // recursively resolve argument types..
+            literals[i] = literal(types[i]);
+        }
+        return literals;
     }
 
-    private static Class<?> getRawType(Type type) {
-        if (type instanceof Class) {
-            return (Class<?>) type;
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static TypeLiteral<?> literal(Type type) {
+        if (type instanceof Class c) {
+            return CLASS_LITERALS.get(c);
         } else if (type instanceof ParameterizedType pt) {
-            return (Class<?>) pt.getRawType();
+            return new TypeLiteral<>((Class) pt.getRawType(), literals(pt.getActualTypeArguments()));
         } else if (type instanceof GenericArrayType gat) {
             if (gat.getGenericComponentType() instanceof ParameterizedType pt) {
                 Class<?> rawType = (Class<?>) pt.getRawType();
-                return Array.newInstance(rawType, 0).getClass();
+                return new TypeLiteral<>(Array.newInstance(rawType, 0).getClass(), literals(pt.getActualTypeArguments()));
             }
             throw new IllegalArgumentException("Expected ParameterizedType, got " + gat.getGenericComponentType());
-        } else if (type instanceof WildcardType) {
-            return WILDCARD_MARKER;
+        } else if (type instanceof WildcardType wt) {
+            Type[] lowerBounds = wt.getLowerBounds();
+            Type[] upperBounds = wt.getUpperBounds();
+            Type lower = lowerBounds.length > 0 ? lowerBounds[0] : Object.class;
+            Type upper = upperBounds.length > 0 ? upperBounds[0] : Object.class;
+            return new TypeLiteral<>((Class) WILDCARD_MARKER, literal(lower), literal(upper));
+        } else if (type instanceof TypeVariable) {
+            throw new DIRuntimeException("Variable type %s can't be fully resolved", type);
         } else {
-            return Object.class;
+            throw new IllegalArgumentException("Unsupported type " + type);
         }
     }
 
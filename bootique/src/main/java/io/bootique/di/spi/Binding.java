@@ -34,16 +34,27 @@ class Binding<T> {
     private final Key<T> key;
     private final Provider<T> original;
 
+    // not null if the injector collects binding metrics
+    private final BindingMetricsRecorder metrics;
+
     private Provider<T> decorated;
     private Provider<T> scoped;
     private Scope scope;
     private boolean optional;
 
+    // set by the injector validation if the binding is proven to never participate in a dependency cycle
+    private volatile boolean acyclic;
+
     Binding(Key<T> key, Provider<T> provider, Scope initialScope, boolean optional) {
+        this(key, provider, initialScope, optional, false);
+    }
+
+    Binding(Key<T> key, Provider<T> provider, Scope initialScope, boolean optional, boolean recordMetrics) {
         this.key = key;
         this.original = provider;
         this.decorated = provider;
         this.optional = optional;
+        this.metrics = recordMetrics ? new BindingMetricsRecorder() : null;
 
         changeScope(initialScope);
     }
@@ -59,7 +70,7 @@ class Binding<T> {
         // TODO: what happens to the old scoped value? Seems like this leaks
         // scope event listeners and may cause unexpected events...
 
-        this.scoped = scope.scope(original);
+        this.scoped = scope.scope(compile(original));
         this.scope = scope;
     }
 
@@ -80,17 +91,50 @@ class Binding<T> {
         // TODO: what happens to the old scoped value? Seems like this leaks
         // scope event listeners and may cause unexpected events...
 
-        this.scoped = scope.scope(decorated);
+        this.scoped = scope.scope(compile(decorated));
+    }
+
+    private Provider<T> compile(Provider<T> provider) {
+        Provider<T> fused = FusedProvider.fuse(provider);
+        return metrics != null && fused != null ? new TimedProvider<>(fused, metrics) : fused;
     }
 
     Provider<T> getOriginal() {
         return original;
     }
 
+    boolean isDecorated() {
+        return decorated != original;
+    }
+
     Provider<T> getScoped() {
         return scoped;
     }
 
+    /**
+     * Returns an instance of this binding if it is a singleton that was already created, or null otherwise.
+     */
+    T getInitializedInstance() {
+        return scoped instanceof DefaultScopeProvider<T> scopeProvider
+                ? scopeProvider.getInitializedInstance()
+                : null;
+    }
+
+    void markAcyclic() {
+        this.acyclic = true;
+    }
+
+    boolean isAcyclic() {
+        return acyclic;
+    }
+
+    /**
+     * Returns the metrics recorder of this binding, or null if the metrics are not collected.
+     */
+    BindingMetricsRecorder getMetrics() {
+        return metrics;
+    }
+
     Scope getScope() {
         return scope;
     }
@@ -0,0 +1,82 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.bootique.di.spi;
+
+import io.bootique.di.Key;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * An array-based index of injector bindings, addressed by the injector {@link KeyIds key ids}. Created when the injector is
+ * fully configured, and used for binding lookups from then on, so that a lookup by a previously seen key instance is
+ * a single array load.
+ *
+ * @since 4.0
+ */
+class BindingTable {
+
+    private final KeyIds keyIds;
+    private volatile AtomicReferenceArray<Binding<?>> table;
+
+    BindingTable(KeyIds keyIds, Map<Key<?>, Binding<?>> bindings) {
+        this.keyIds = keyIds;
+
+        int maxId = KeyIds.NO_ID;
+        for (Key<?> key : bindings.keySet()) {
+            maxId = Math.max(maxId, keyIds.idOf(key));
+        }
+
+        AtomicReferenceArray<Binding<?>> table = new AtomicReferenceArray<>(maxId + 1);
+        bindings.forEach((k, b) -> table.setPlain(keyIds.idOf(k), b));
+
+        // volatile write safely publishes the table contents
+        this.table = table;
+    }
+
+    /**
+     * Returns a binding for the key or null if the table has no such binding.
+     */
+    @SuppressWarnings("unchecked")
+    <T> Binding<T> get(Key<T> key) {
+        int id = keyIds.find(key);
+        AtomicReferenceArray<Binding<?>> table = this.table;
+        return id != KeyIds.NO_ID && id < table.length() ? (Binding<T>) table.getAcquire(id) : null;
+    }
+
+    /**
+     * Adds or replaces a binding created after the table was built (e.g. a dynamic binding).
+     */
+    synchronized void put(Key<?> key, Binding<?> binding) {
+        int id = keyIds.idOf(key);
+        AtomicReferenceArray<Binding<?>> table = this.table;
+
+        if (id >= table.length()) {
+            AtomicReferenceArray<Binding<?>> expanded = new AtomicReferenceArray<>(Math.max(id + 1, table.length() * 2));
+            for (int i = 0; i < table.length(); i++) {
+                expanded.setPlain(i, table.getPlain(i));
+            }
+
+            expanded.setPlain(id, binding);
+            this.table = expanded;
+        } else {
+            table.setRelease(id, binding);
+        }
+    }
+}
@@ -21,9 +21,6 @@ package io.bootique.di.spi;
 
 import jakarta.inject.Provider;
 
-import java.lang.annotation.Annotation;
-import java.lang.reflect.Type;
-
 class ConstructorInjectingDecoratorProvider<T> implements DecoratorProvider<T> {
 
     private final Class<? extends T> implementation;
@@ -39,12 +36,14 @@ class ConstructorInjectingDecoratorProvider<T> implements DecoratorProvider<T> {
 
         return new ConstructorInjectingProvider<T>(implementation, injector) {
             @Override
-            protected Object value(Class<?> parameter, Type genericType, Annotation bindingAnnotation) {
+            protected Object value(int index) {
+
+                Class<?> parameter = parameterType(index);
 
                 // delegate (possibly) injected as Provider
                 if (injector.getPredicates().isProviderType(parameter)) {
 
-                    Class<?> objectClass = GenericTypesUtils.parameterClass(genericType);
+                    Class<?> objectClass = GenericTypesUtils.parameterClass(genericParameterType(index));
 
                     if (objectClass == null) {
                         return injector.throwException("Constructor provider parameter %s must be "
@@ -52,7 +51,7 @@ class ConstructorInjectingDecoratorProvider<T> implements DecoratorProvider<T> {
                     }
 
                     if (objectClass.isAssignableFrom(implementation)) {
-                        return undecorated;
+                        return DefaultInjector.providerValue(undecorated, parameter);
                     }
                 }
                 // delegate injected as value
@@ -60,7 +59,7 @@ class ConstructorInjectingDecoratorProvider<T> implements DecoratorProvider<T> {
                     return undecorated.get();
                 }
 
-                return super.value(parameter, genericType, bindingAnnotation);
+                return super.value(index);
             }
         };
     }
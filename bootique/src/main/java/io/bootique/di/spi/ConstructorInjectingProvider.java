@@ -19,6 +19,7 @@
 
 package io.bootique.di.spi;
 
+import io.bootique.di.DIRuntimeException;
 import io.bootique.di.Key;
 import io.bootique.di.TypeLiteral;
 
@@ -26,11 +27,16 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Type;
 
-public class ConstructorInjectingProvider<T> implements NamedProvider<T> {
+public class ConstructorInjectingProvider<T> implements NamedProvider<T>, DependencyAware {
 
     private final Constructor<? extends T> constructor;
     private final DefaultInjector injector;
-    private final Annotation[] bindingAnnotations;
+    private final Class<?>[] parameterTypes;
+    private final Type[] genericParameterTypes;
+    private final ConstructorInvoker<? extends T> invoker;
+
+    // argument keys are resolved lazily on the first call, and then reused for every subsequent instance
+    private volatile Key<?>[] argumentKeys;
 
     public ConstructorInjectingProvider(Class<? extends T> implementation, DefaultInjector injector) {
         this(ConstructorInjectingProvider.findRequiredConstructor(implementation, injector), injector);
@@ -39,7 +45,9 @@ public class ConstructorInjectingProvider<T> implements NamedProvider<T> {
     public ConstructorInjectingProvider(Constructor<? extends T> constructor, DefaultInjector injector) {
         this.constructor = constructor;
         this.injector = injector;
-        this.bindingAnnotations = collectParametersQualifiers(constructor);
+        this.parameterTypes = constructor.getParameterTypes();
+        this.genericParameterTypes = constructor.getGenericParameterTypes();
+        this.invoker = ConstructorInvoker.of(constructor);
     }
 
     static <T> Constructor<? extends T> findRequiredConstructor(Class<? extends T> implementation, DefaultInjector injector) {
@@ -87,7 +95,7 @@ public class ConstructorInjectingProvider<T> implements NamedProvider<T> {
         return (Constructor<? extends T>) lastMatch;
     }
 
-    private Annotation[] collectParametersQualifiers(Constructor<? extends T> constructor) {
+    private static Annotation[] collectParametersQualifiers(Constructor<?> constructor, DefaultInjector injector) {
         Annotation[] result = new Annotation[constructor.getParameterCount()];
         Annotation[][] annotations = constructor.getParameterAnnotations();
         for (int i = 0; i < annotations.length; i++) {
@@ -104,36 +112,123 @@ public class ConstructorInjectingProvider<T> implements NamedProvider<T> {
     @Override
     public T get() {
 
-        Class<?>[] constructorParameters = constructor.getParameterTypes();
-        Type[] genericTypes = constructor.getGenericParameterTypes();
-        Object[] args = new Object[constructorParameters.length];
+        int len = parameterTypes.length;
+        Object[] args = new Object[len];
 
-        for (int i = 0; i < constructorParameters.length; i++) {
-            final int idx = i;
-            injector.trace(() -> "Get argument " + idx + " for " + getName());
-            args[i] = value(constructorParameters[i], genericTypes[i], bindingAnnotations[i]);
+        for (int i = 0; i < len; i++) {
+            if (injector.isTraceRecorded()) {
+                final int idx = i;
+                injector.trace(() -> "Get argument " + idx + " for " + getName());
+            }
+            args[i] = value(i);
         }
 
         try {
-            injector.trace(() -> "Invoking " + getName());
-            return constructor.newInstance(args);
-        } catch (Exception e) {
+            if (injector.isTraceRecorded()) {
+                injector.trace(() -> "Invoking " + getName());
+            }
+            return invoker.newInstance(args);
+        } catch (Throwable e) {
             return injector.throwException("Error invoking %s", e, getName());
         }
     }
 
-    protected Object value(Class<?> parameter, Type genericType, Annotation bindingAnnotation) {
+    /**
+     * Resolves a value of the constructor argument with a given index.
+     */
+    protected Object value(int index) {
+        Key<?> key = argumentKeys()[index];
+        return injector.getPredicates().isProviderType(parameterTypes[index])
+                ? injector.getProviderValue(key, parameterTypes[index])
+                : injector.getInstanceWithCycleProtection(key, false);
+    }
+
+    protected Class<?> parameterType(int index) {
+        return parameterTypes[index];
+    }
+
+    protected Type genericParameterType(int index) {
+        return genericParameterTypes[index];
+    }
+
+    private Key<?>[] argumentKeys() {
+        Key<?>[] keys = argumentKeys;
+        if (keys == null) {
+            // no locking here, a race would simply produce an identical array
+            argumentKeys = keys = createArgumentKeys();
+        }
+
+        return keys;
+    }
+
+    private Key<?>[] createArgumentKeys() {
+        return createArgumentKeys(constructor, injector);
+    }
+
+    private static Key<?>[] createArgumentKeys(Constructor<?> constructor, DefaultInjector injector) {
+        Class<?>[] parameterTypes = constructor.getParameterTypes();
+        Type[] genericParameterTypes = constructor.getGenericParameterTypes();
+        Annotation[] bindingAnnotations = collectParametersQualifiers(constructor, injector);
+
+        int len = parameterTypes.length;
+        Key<?>[] keys = new Key<?>[len];
+
+        for (int i = 0; i < len; i++) {
+            if (injector.getPredicates().isProviderType(parameterTypes[i])) {
+                Type parameterType = GenericTypesUtils.getGenericParameterType(genericParameterTypes[i]);
+                if (parameterType == null) {
+                    return injector.throwException("Constructor provider parameter %s must be "
+                            + "parameterized to be usable for injection", parameterTypes[i].getName());
+                }
+                keys[i] = Key.get(TypeLiteral.of(parameterType), bindingAnnotations[i]);
+            } else {
+                keys[i] = Key.get(TypeLiteral.of(genericParameterTypes[i]), bindingAnnotations[i]);
+            }
+        }
+
+        return keys;
+    }
+
+    @Override
+    public Class<?> collectDependencies(Dependencies dependencies) {
+        collectDependencies(constructor, injector, dependencies);
+        return constructor.getDeclaringClass();
+    }
+
+    /**
+     * Collects dependencies of a constructor that would be used to create instances of a given class.
+     *
+     * @return false if the class has no applicable constructor
+     */
+    static boolean collectDependencies(Class<?> implementation, DefaultInjector injector, Dependencies dependencies) {
+        Constructor<?> constructor = findConstructor(implementation, injector);
+        if (constructor == null) {
+            dependencies.addProblem(String.format(
+                    "No applicable constructor is found for constructor injection in class '%s'",
+                    implementation.getName()));
+            return false;
+        }
+
+        collectDependencies(constructor, injector, dependencies);
+        return true;
+    }
+
+    private static void collectDependencies(Constructor<?> constructor, DefaultInjector injector, Dependencies dependencies) {
+        Key<?>[] keys;
+        try {
+            keys = createArgumentKeys(constructor, injector);
+        } catch (DIRuntimeException e) {
+            dependencies.addProblem(e.getOriginalMessage());
+            return;
+        }
 
-        if (injector.getPredicates().isProviderType(parameter)) {
-            Type parameterType = GenericTypesUtils.getGenericParameterType(genericType);
-            if (parameterType == null) {
-                return injector.throwException("Constructor provider parameter %s must be "
-                        + "parameterized to be usable for injection", parameter.getName());
+        Class<?>[] parameterTypes = constructor.getParameterTypes();
+        for (int i = 0; i < keys.length; i++) {
+            if (injector.getPredicates().isProviderType(parameterTypes[i])) {
+                dependencies.addDeferred(keys[i]);
+            } else {
+                dependencies.add(keys[i]);
             }
-            return injector.getProvider(Key.get(TypeLiteral.of(parameterType), bindingAnnotation));
-        } else {
-            Key<?> key = Key.get(TypeLiteral.of(genericType), bindingAnnotation);
-            return injector.getInstanceWithCycleProtection(key, false);
         }
     }
 
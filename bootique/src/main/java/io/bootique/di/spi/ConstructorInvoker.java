@@ -0,0 +1,68 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+
+/**
+ * A strategy for invoking an injection constructor. The default strategy is based on a {@link MethodHandle} compiled
+ * once per constructor, with a reflective fallback for constructors that can't be unreflected (e.g. due to module
+ * access restrictions).
+ *
+ * @param <T> type of the object created by the constructor
+ * @since 4.0
+ */
+@FunctionalInterface
+interface ConstructorInvoker<T> {
+
+    static <T> ConstructorInvoker<T> of(Constructor<T> constructor) {
+
+        // let reflection produce a proper error for abstract classes
+        if (Modifier.isAbstract(constructor.getDeclaringClass().getModifiers())) {
+            return reflective(constructor);
+        }
+
+        MethodHandle handle;
+        try {
+            handle = MethodHandles.lookup()
+                    .unreflectConstructor(constructor)
+                    .asSpreader(Object[].class, constructor.getParameterCount())
+                    .asType(MethodType.methodType(Object.class, Object[].class));
+        } catch (IllegalAccessException | RuntimeException e) {
+            return reflective(constructor);
+        }
+
+        return args -> {
+            @SuppressWarnings("unchecked")
+            T result = (T) handle.invokeExact(args);
+            return result;
+        };
+    }
+
+    static <T> ConstructorInvoker<T> reflective(Constructor<T> constructor) {
+        return constructor::newInstance;
+    }
+
+    T newInstance(Object[] args) throws Throwable;
+}
@@ -39,7 +39,9 @@ class CustomProvidersProvider<T> implements NamedProvider<T> {
     @Override
     public T get() {
         Provider<? extends T> customProvider = providerOfProviders.get();
-        injector.trace(() -> "Invoking " + getName());
+        if (injector.isTraceRecorded()) {
+            injector.trace(() -> "Invoking " + getName());
+        }
         return customProvider.get();
     }
 
@@ -53,7 +53,9 @@ public abstract class DICollectionBuilder<K, E> implements ScopeBuilder {
     protected Provider<E> createProviderProvider(Class<? extends Provider<? extends E>> providerType) {
         Key<? extends Provider<? extends E>> providerKey = Key.get(providerType);
         Provider<Provider<? extends E>> providerProvider = () -> {
-            injector.trace(() -> "Resolving custom provider of type " + providerType);
+            if (injector.isTraceRecorded()) {
+                injector.trace(() -> "Resolving custom provider of type " + providerType);
+            }
             if (!injector.hasProvider(providerKey)) {
                 // create new provider
                 Provider<Provider<? extends E>> provider0 = new ConstructorInjectingProvider<>(providerType, injector);
@@ -85,7 +87,7 @@ public abstract class DICollectionBuilder<K, E> implements ScopeBuilder {
         if (!injector.hasProvider(key)) {
             injector.putBinding(key, (Provider<SubT>) null);
         }
-        return () -> injector.getInstance(key);
+        return new KeyProvider<>(injector, key);
     }
 
     @Override
@@ -107,4 +109,30 @@ public abstract class DICollectionBuilder<K, E> implements ScopeBuilder {
     public void initOnStartup() {
         injector.markForEarlySetup(bindingKey);
     }
+
+    static class KeyProvider<T> implements Provider<T>, DependencyAware {
+
+        private final DefaultInjector injector;
+        private final Key<T> key;
+
+        KeyProvider(DefaultInjector injector, Key<T> key) {
+            this.injector = injector;
+            this.key = key;
+        }
+
+        Key<T> getKey() {
+            return key;
+        }
+
+        @Override
+        public T get() {
+            return injector.getInstance(key);
+        }
+
+        @Override
+        public Class<?> collectDependencies(Dependencies dependencies) {
+            dependencies.add(key);
+            return null;
+        }
+    }
 }
@@ -64,10 +64,7 @@ class DefaultBindingBuilder<T> implements BindingBuilder<T> {
         if(!bindingKey.equals(key)) {
             implementationKey = key;
             injector.putBinding(implementationKey, (Provider) null);
-            addBinding(() -> {
-                injector.trace(() -> "Target implementation is " + implementationKey);
-                return injector.getProvider(implementationKey).get();
-            });
+            addBinding(new ImplementationProvider());
         }
         return this;
     }
@@ -89,7 +86,9 @@ class DefaultBindingBuilder<T> implements BindingBuilder<T> {
     public BindingBuilder<T> toProvider(Class<? extends Provider<? extends T>> providerType) {
         // Actual provider instance is resolved lazily, so it could be bound to other implementation
         Provider<Provider<? extends T>> providerProvider = () -> {
-            injector.trace(() -> "Resolving custom provider of type " + providerType);
+            if (injector.isTraceRecorded()) {
+                injector.trace(() -> "Resolving custom provider of type " + providerType);
+            }
             Binding<? extends Provider<? extends T>> binding = injector.getBinding(Key.get(providerType));
             if(binding != null) {
                 // get existing provider
@@ -164,4 +163,24 @@ class DefaultBindingBuilder<T> implements BindingBuilder<T> {
         }
     }
 
+    /**
+     * Provider that resolves the binding via the current implementation key.
+     */
+    private class ImplementationProvider implements Provider<T>, DependencyAware {
+
+        @Override
+        public T get() {
+            if (injector.isTraceRecorded()) {
+                injector.trace(() -> "Target implementation is " + implementationKey);
+            }
+            return injector.getProvider(implementationKey).get();
+        }
+
+        @Override
+        public Class<?> collectDependencies(Dependencies dependencies) {
+            dependencies.add(implementationKey);
+            return null;
+        }
+    }
+
 }
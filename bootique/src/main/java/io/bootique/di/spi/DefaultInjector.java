@@ -21,26 +21,36 @@ package io.bootique.di.spi;
 
 import io.bootique.BQModule;
 import io.bootique.di.Binder;
+import io.bootique.di.BindingMetrics;
 import io.bootique.di.DIRuntimeException;
 import io.bootique.di.InjectionTraceElement;
 import io.bootique.di.Injector;
 import io.bootique.di.Key;
+import io.bootique.di.Lazy;
 import io.bootique.di.Scope;
+import io.bootique.jfr.InjectorCreateEvent;
+import io.bootique.trace.StartupTracer;
 import io.bootique.log.BootLogger;
 import jakarta.inject.Provider;
 
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Proxy;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Supplier;
 
 /**
@@ -54,37 +64,83 @@ public class DefaultInjector implements Injector {
         DISABLE_DYNAMIC_BINDINGS,
         ENABLE_METHOD_INJECTION,
         DISABLE_TRACE,
-        DISABLE_PROXY
+        LAZY_TRACE,
+        DISABLE_PROXY,
+        PARALLEL_EARLY_SETUP,
+        VALIDATE,
+        IMMUTABLE_MULTIBINDINGS,
+        PARALLEL_SHUTDOWN,
+        BINDING_METRICS
     }
 
+    /**
+     * The default maximum time to wait for a single singleton to process the shutdown event in the parallel
+     * shutdown mode.
+     *
+     * @since 4.0
+     */
+    public static final Duration DEFAULT_SHUTDOWN_LISTENER_TIMEOUT = Duration.ofSeconds(30);
+
+    private final DefaultInjector parent;
+    private final Set<Options> options;
     private final DefaultScope singletonScope;
+    private final Set<DefaultScope> ownedScopes;
     private final Scope noScope;
     private final Scope defaultScope;
 
     private final Map<Key<?>, Binding<?>> bindings;
+    private volatile BindingTable frozenBindings;
+
+    // keys bound explicitly by the modules, as opposed to dynamic bindings created on demand
+    private volatile Set<Key<?>> declaredKeys;
+    private final KeyIds keyIds;
+    private final SingletonTable singletons;
     private final Map<Key<?>, Decoration<?>> decorations;
     private final InjectionStack injectionStack;
     private final InjectionTrace injectionTrace;
     private final InjectorPredicates predicates;
+    private final InjectionPointsCache injectionPoints;
     private final Set<Key<?>> earlySetupSet;
     private final Map<Class<?>, List<Key<?>>> keysByRawType;
 
     private final boolean allowDynamicBinding;
+    private final boolean parallelEarlySetup;
+    private final boolean validateOnStartup;
+    private final boolean immutableMultibindings;
+    private final boolean bindingMetrics;
+    private final boolean parallelShutdown;
+    private volatile Duration shutdownListenerTimeout;
     private final boolean allowOverride;
     private final boolean allowMethodInjection;
     private final boolean injectionTraceEnabled;
+    private final boolean lazyTrace;
     private final boolean allowProxyCreation;
 
     private volatile boolean isShutdown;
+    private final ReentrantLock shutdownLock;
 
     DefaultInjector(BQModule... modules) {
         this(Collections.emptySet(), new InjectorPredicates(), modules);
     }
 
     public DefaultInjector(Set<Options> options, InjectorPredicates predicates, BQModule... modules) {
+        this(null, options, predicates, modules);
+    }
+
+    private DefaultInjector(DefaultInjector parent, Set<Options> options, InjectorPredicates predicates, BQModule... modules) {
+        InjectorCreateEvent event = new InjectorCreateEvent();
+        event.begin();
+
+        this.parent = parent;
+        this.options = options;
         this.predicates = predicates;
 
+        // injection points only depend on the predicates, so the cache can be shared with the parent
+        this.injectionPoints = parent != null ? parent.injectionPoints : new InjectionPointsCache(predicates);
+
         this.singletonScope = new DefaultScope();
+        this.ownedScopes = Collections.synchronizedSet(new LinkedHashSet<>());
+        this.shutdownLock = new ReentrantLock();
         this.noScope = NoScope.INSTANCE;
         this.defaultScope = options.contains(Options.SINGLETON_SCOPE_BY_DEFAULT) ? singletonScope : noScope;
 
@@ -92,32 +148,61 @@ public class DefaultInjector implements Injector {
         this.allowDynamicBinding = !options.contains(Options.DISABLE_DYNAMIC_BINDINGS);
         this.allowMethodInjection = options.contains(Options.ENABLE_METHOD_INJECTION);
         this.injectionTraceEnabled = !options.contains(Options.DISABLE_TRACE);
+        this.lazyTrace = injectionTraceEnabled && options.contains(Options.LAZY_TRACE);
         this.allowProxyCreation = !options.contains(Options.DISABLE_PROXY);
+        this.parallelEarlySetup = options.contains(Options.PARALLEL_EARLY_SETUP);
+        this.validateOnStartup = options.contains(Options.VALIDATE);
+        this.immutableMultibindings = options.contains(Options.IMMUTABLE_MULTIBINDINGS);
+        this.bindingMetrics = options.contains(Options.BINDING_METRICS);
+        this.parallelShutdown = options.contains(Options.PARALLEL_SHUTDOWN);
+        this.shutdownListenerTimeout = parent != null ? parent.shutdownListenerTimeout : DEFAULT_SHUTDOWN_LISTENER_TIMEOUT;
 
         this.bindings = new ConcurrentHashMap<>();
         this.decorations = new ConcurrentHashMap<>();
+        this.keyIds = new KeyIds();
+        this.singletons = new SingletonTable(keyIds);
         this.injectionStack = new InjectionStack();
-        this.injectionTrace = injectionTraceEnabled ? new InjectionTrace() : null;
-        this.earlySetupSet = Collections.newSetFromMap(new ConcurrentHashMap<>());
+        this.injectionTrace = injectionTraceEnabled && !lazyTrace ? new InjectionTrace() : null;
+        this.earlySetupSet = Collections.synchronizedSet(new LinkedHashSet<>());
         this.keysByRawType = new ConcurrentHashMap<>();
 
-        Binder binder = new DefaultBinder(this);
+        boolean success = false;
+        try {
+            Binder binder = new DefaultBinder(this);
 
-        // bind self for injector injection...
-        binder.bind(Injector.class).toInstance(this);
+            // bind self for injector injection...
+            binder.bind(Injector.class).toInstance(this);
 
-        // bind modules
-        if (modules != null && modules.length > 0) {
-            ProvidesHandler providesHandler = new ProvidesHandler(this);
+            // bind modules
+            if (modules != null && modules.length > 0) {
+                ProvidesHandler providesHandler = new ProvidesHandler(this);
 
-            for (BQModule module : modules) {
-                module.configure(binder);
-                providesHandler.bindingsFromAnnotatedMethods(module);
+                for (BQModule module : modules) {
+                    StartupTracer.run("configure", module, () -> module.configure(binder));
+                    StartupTracer.run("@Provides", module, () -> providesHandler.bindingsFromAnnotatedMethods(module));
+                }
             }
-        }
 
-        applyDecorators();
-        earlySetup();
+            StartupTracer.run("applyDecorators", this::applyDecorators);
+
+            freeze();
+
+            if (validateOnStartup) {
+                StartupTracer.run("validate", this::validate);
+            }
+
+            StartupTracer.run("earlySetup", this::earlySetup);
+
+            success = true;
+        } finally {
+            if (event.shouldCommit()) {
+                event.setModules(modules != null ? modules.length : 0);
+                event.setBindings(bindings.size());
+                event.setChild(parent != null);
+                event.setSuccess(success);
+                event.commit();
+            }
+        }
     }
 
     InjectionStack getInjectionStack() {
@@ -128,21 +213,36 @@ public class DefaultInjector implements Injector {
         return predicates;
     }
 
+    InjectionPointsCache getInjectionPoints() {
+        return injectionPoints;
+    }
+
     @SuppressWarnings("unchecked")
     <T> Binding<T> getBinding(Key<T> key) {
         if (isShutdown) {
             throwException("Injector is shutdown");
         }
+
+        Objects.requireNonNull(key, "Null key");
+
+        BindingTable frozenBindings = this.frozenBindings;
+        if (frozenBindings != null) {
+            Binding<T> binding = frozenBindings.get(key);
+            if (binding != null) {
+                return binding;
+            }
+        }
+
         // may return null - this is intentionally allowed in this non-public method
-        return (Binding<T>) bindings.get(Objects.requireNonNull(key, "Null key"));
+        return (Binding<T>) bindings.get(key);
     }
 
     <T> void putBinding(Key<T> bindingKey, Provider<T> provider) {
-        putBinding(bindingKey, new Binding<>(bindingKey, wrapProvider(bindingKey, provider), defaultScope, false));
+        putBinding(bindingKey, new Binding<>(bindingKey, wrapProvider(bindingKey, provider), defaultScope, false, bindingMetrics));
     }
 
     <T> void putOptionalBinding(Key<T> bindingKey, Provider<T> provider) {
-        putBinding(bindingKey, new Binding<>(bindingKey, wrapProvider(bindingKey, provider), defaultScope, true));
+        putBinding(bindingKey, new Binding<>(bindingKey, wrapProvider(bindingKey, provider), defaultScope, true, bindingMetrics));
     }
 
     /**
@@ -152,11 +252,12 @@ public class DefaultInjector implements Injector {
         if (isShutdown) {
             throwException("Injector is shutdown");
         }
-        Binding<T> binding = new Binding<>(bindingKey, wrapProvider(bindingKey, provider), defaultScope, false);
+        Binding<T> binding = new Binding<>(bindingKey, wrapProvider(bindingKey, provider), defaultScope, false, bindingMetrics);
         Binding<?> oldBinding = bindings.put(bindingKey, binding);
         if (oldBinding == null) {
             throwException("No binding to override for key %s", bindingKey);
         }
+        updateFrozenBindings(bindingKey, binding);
     }
 
     <T> void putBinding(Key<T> bindingKey, Binding<T> binding) {
@@ -164,6 +265,7 @@ public class DefaultInjector implements Injector {
             throwException("Injector is shutdown");
         }
         Binding<?> oldBinding = bindings.put(bindingKey, binding);
+        updateFrozenBindings(bindingKey, binding);
         if (oldBinding == null) {
             keysByRawType.computeIfAbsent(bindingKey.getType().getRawType(), type -> new ArrayList<>(1))
                     .add(bindingKey);
@@ -173,6 +275,44 @@ public class DefaultInjector implements Injector {
         }
     }
 
+    /**
+     * Switches binding lookups to an array-based table. Called once the injector is configured and bindings are mostly
+     * immutable. Bindings created after that (e.g. dynamic bindings) are written through to the table.
+     */
+    private void freeze() {
+        this.declaredKeys = Set.copyOf(bindings.keySet());
+        this.frozenBindings = new BindingTable(keyIds, bindings);
+    }
+
+    private void updateFrozenBindings(Key<?> key, Binding<?> binding) {
+        BindingTable frozenBindings = this.frozenBindings;
+        if (frozenBindings != null) {
+            frozenBindings.put(key, binding);
+            singletons.remove(key);
+        }
+    }
+
+    /**
+     * Registers an already created singleton in the fast lookup table. Only done for the bindings of a configured
+     * injector that are not subject to custom provider wrapping, as such wrappers must see every call.
+     */
+    private <T> void cacheSingleton(Key<T> key, Binding<T> binding, T instance) {
+        if (isCacheableSingleton(key, binding)) {
+
+            // the binding may have been replaced or rescoped since we got the instance, so check again under the
+            // table lock
+            singletons.put(key, instance, () -> isCacheableSingleton(key, binding));
+        }
+    }
+
+    private boolean isCacheableSingleton(Key<?> key, Binding<?> binding) {
+        BindingTable frozenBindings = this.frozenBindings;
+        return frozenBindings != null
+                && !isShutdown
+                && binding.getScope() == singletonScope
+                && frozenBindings.get(key) == binding;
+    }
+
     /**
      * <ul>
      *     <li> Can always override optional bindings
@@ -218,7 +358,20 @@ public class DefaultInjector implements Injector {
             return;
         }
 
+        // pooled and expiring instances are owned by the injector that uses the scope, and are disposed of on
+        // injector shutdown
+        if (scope instanceof DefaultScope ds && ds.isShutdownWithInjector()) {
+            if (!ds.claimOwnership(this)) {
+                throwException("Scope %s is already used by another injector. A scope that is shut down with "
+                        + "its injector can't be shared between injectors", ds.getClass().getName());
+                return;
+            }
+
+            ownedScopes.add(ds);
+        }
+
         binding.changeScope(scope);
+        singletons.remove(bindingKey);
     }
 
     @Override
@@ -227,6 +380,39 @@ public class DefaultInjector implements Injector {
     }
 
     <T> T getInstanceWithCycleProtection(Key<T> key, boolean fromProxy) {
+
+        // warm singletons are returned with a single table lookup
+        T singleton = singletons.get(key);
+        if (singleton != null) {
+            if (isShutdown) {
+                throwException("Injector is shutdown");
+            }
+            return singleton;
+        }
+
+        Binding<T> binding = getBinding(key);
+        if (binding == null && isInheritedKey(key)) {
+            return parent.getInstanceWithCycleProtection(key, fromProxy);
+        }
+
+        if (binding != null) {
+
+            // already created singletons can't participate in a cycle, so skip the stack bookkeeping for them.
+            // Custom provider wrappers must see every call though.
+            if (!predicates.hasProviderWrapper()) {
+                T initialized = binding.getInitializedInstance();
+                if (initialized != null) {
+                    cacheSingleton(key, binding, initialized);
+                    return initialized;
+                }
+            }
+
+            // same for the bindings proven acyclic by validation
+            if (binding.isAcyclic()) {
+                return getProvider(key).get();
+            }
+        }
+
         if (!injectionStack.push(key)) {
             // cycle detected in dependency
             // 1. try to create proxy
@@ -266,21 +452,133 @@ public class DefaultInjector implements Injector {
     @Override
     public <T> Provider<T> getProvider(Key<T> key) throws DIRuntimeException {
         Binding<T> binding = getBinding(key);
+        if (binding == null && isInheritedKey(key)) {
+            return parent.getProvider(key);
+        }
+
         if (binding == null || binding.getOriginal() == null) {
             binding = createDynamicBinding(key);
         }
 
-        return predicates.wrapProvider(binding.getScoped());
+        // skipping the default identity wrapper keeps the call path to the scoped provider short
+        return predicates.hasProviderWrapper()
+                ? predicates.wrapProvider(binding.getScoped())
+                : binding.getScoped();
+    }
+
+    /**
+     * Returns whether a provider is known to return the same fully injected object on every call, so that the callers
+     * can cache its result. Should be called after the provider was invoked at least once, so that its dynamic
+     * bindings are already resolved.
+     */
+    boolean isStableProvider(Provider<?> provider) {
+        if (provider instanceof InstanceProvider) {
+            return true;
+        }
+
+        if (provider instanceof DICollectionBuilder.KeyProvider<?> keyProvider) {
+            Key<?> key = keyProvider.getKey();
+            Binding<?> binding = getBinding(key);
+            if (binding == null) {
+                return isInheritedKey(key) && parent.isSingleton(key);
+            }
+            return binding.getScope() == singletonScope;
+        }
+
+        if (provider instanceof MemberInjectingProvider) {
+
+            // repeated member injection into a prebuilt instance is only a no-op when there's nothing to inject
+            Provider<?> root = provider;
+            while (root instanceof MemberInjectingProvider<?> memberInjecting) {
+                root = memberInjecting.delegate;
+            }
+
+            if (root instanceof InstanceProvider<?> instanceProvider) {
+                Class<?> type = instanceProvider.get().getClass();
+                return injectionPoints.fields(type).length == 0
+                        && (!isMethodInjectionEnabled() || injectionPoints.methods(type).length == 0);
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Resolves an injection point of a provider type, returning either a provider or a {@link Lazy} reference
+     * for a given key.
+     */
+    Provider<?> getProviderValue(Key<?> key, Class<?> providerType) {
+        return providerValue(getProvider(key), providerType);
+    }
+
+    /**
+     * Converts a provider to a value injectable into a point of the given type (either Provider or Lazy).
+     */
+    static Provider<?> providerValue(Provider<?> provider, Class<?> providerType) {
+        return providerType == Lazy.class ? new LazyProvider<>(provider) : provider;
+    }
+
+    @Override
+    public <T> T getBoundInstance(Key<T> key) {
+        T singleton = singletons.get(key);
+        if (singleton != null) {
+            if (isShutdown) {
+                throwException("Injector is shutdown");
+            }
+            return singleton;
+        }
+
+        Binding<T> binding = getBinding(key);
+        if (binding == null) {
+            return isInheritedKey(key) ? parent.getBoundInstance(key) : null;
+        }
+
+        if (!predicates.hasProviderWrapper()) {
+            T initialized = binding.getInitializedInstance();
+            if (initialized != null) {
+                cacheSingleton(key, binding, initialized);
+                return initialized;
+            }
+        }
+
+        return getProvider(key).get();
     }
 
     @Override
     public boolean hasProvider(Key<?> key) {
-        return getBinding(key) != null;
+        return getBinding(key) != null || isInheritedKey(key);
+    }
+
+    /**
+     * Returns whether a key is not bound in this injector, but is explicitly bound in one of its ancestors. Dynamic
+     * bindings of the ancestors are ignored, so that an unbound key is always resolved in the injector that was
+     * asked for it, and sees its bindings, regardless of whether the ancestors have resolved the same key before.
+     */
+    boolean isInheritedKey(Key<?> key) {
+        return parent != null && parent.isDeclaredKey(key);
+    }
+
+    private boolean isDeclaredKey(Key<?> key) {
+        Set<Key<?>> declaredKeys = this.declaredKeys;
+        return declaredKeys != null && declaredKeys.contains(key) || isInheritedKey(key);
+    }
+
+    @Override
+    public Injector createChildInjector(BQModule... modules) {
+        if (isShutdown) {
+            throwException("Injector is shutdown");
+        }
+
+        return new DefaultInjector(this, options, predicates, modules);
     }
 
     @Override
     public boolean isSingleton(Key<?> key) {
         Binding<?> binding = getBinding(key);
+        if (binding == null && isInheritedKey(key)) {
+            return parent.isSingleton(key);
+        }
+
         if (binding == null) {
             throw new DIRuntimeException("Non-existing binding: %s", key);
         }
@@ -291,7 +589,7 @@ public class DefaultInjector implements Injector {
     @SuppressWarnings("unchecked")
     private <T> Binding<T> createDynamicBinding(Key<T> key) {
         // Compute new bindings for given key
-        return (Binding<T>) bindings.compute(key, (k, oldBinding) -> {
+        Binding<T> binding = (Binding<T>) bindings.compute(key, (k, oldBinding) -> {
             if (oldBinding == null && !allowDynamicBinding) {
                 throwException("DI container has no binding for key %s and dynamic bindings are disabled.", key);
             }
@@ -310,8 +608,11 @@ public class DefaultInjector implements Injector {
                 scope = singletonScope;
             }
 
-            return new Binding<>(key, wrapInMemberInjectionProviders(key, provider), scope, false);
+            return new Binding<>(key, wrapInMemberInjectionProviders(key, provider), scope, false, bindingMetrics);
         });
+
+        updateFrozenBindings(key, binding);
+        return binding;
     }
 
     private <T> Provider<T> wrapInMemberInjectionProviders(Key<T> key, Provider<T> provider) {
@@ -331,27 +632,147 @@ public class DefaultInjector implements Injector {
     }
 
     @Override
-    public synchronized void shutdown() {
+    public void shutdown() {
+
+        // not using "synchronized", as the parallel shutdown may block for a long time waiting for the listeners,
+        // which would pin a virtual thread calling this method
+        shutdownLock.lock();
+        try {
+            doShutdown();
+        } finally {
+            shutdownLock.unlock();
+        }
+    }
+
+    private void doShutdown() {
         if (isShutdown) {
             return;
         }
+
+        // pooled and expiring instances may depend on singletons, so shutting them down first
+        List<DefaultScope> scopes;
+        synchronized (ownedScopes) {
+            scopes = new ArrayList<>(ownedScopes);
+            ownedScopes.clear();
+        }
+        scopes.forEach(DefaultScope::shutdown);
+
+        // must run before the injector is marked as shutdown, as it needs the bindings
+        RuntimeException singletonShutdownError = null;
+        if (parallelShutdown) {
+            try {
+                new SingletonShutdown(this, shutdownListenerTimeout).run(bindings.keySet());
+            } catch (RuntimeException e) {
+                singletonShutdownError = e;
+            }
+        }
+
         isShutdown = true;
+        singletons.clear();
+
         singletonScope.shutdown();
+        frozenBindings = null;
         bindings.clear();
         decorations.clear();
         injectionStack.reset();
         keysByRawType.clear();
+
+        if (singletonShutdownError != null) {
+            throw singletonShutdownError;
+        }
+    }
+
+    /**
+     * Sets the maximum time to wait for a single singleton to process the shutdown event in the parallel shutdown
+     * mode. The singletons that depend on it are not kept waiting longer than that, and the timeout is reported as
+     * a shutdown error.
+     *
+     * @since 4.0
+     */
+    public void setShutdownListenerTimeout(Duration shutdownListenerTimeout) {
+        this.shutdownListenerTimeout = Objects.requireNonNull(shutdownListenerTimeout);
+    }
+
+    @Override
+    public void validate() {
+        DependencyGraph graph = new DependencyGraph(this);
+
+        // sorting the keys to produce a stable report
+        List<Key<?>> roots = bindings.keySet().stream().sorted(Comparator.comparing(Key::toString)).toList();
+        List<String> problems = new ArrayList<>();
+
+        for (Key<?> key : graph.reachable(roots, true)) {
+            for (String problem : graph.node(key).getProblems()) {
+                problems.add(key + ": " + problem);
+            }
+        }
+
+        Map<Integer, List<Key<?>>> cycles = new TreeMap<>();
+        graph.cycles(roots, false).forEach((k, id) -> cycles.computeIfAbsent(id, i -> new ArrayList<>()).add(k));
+        for (List<Key<?>> cycle : cycles.values()) {
+
+            // a cycle is only resolvable at runtime if it can be broken with a proxy
+            if (!allowProxyCreation || cycle.stream().noneMatch(k -> k.getType().getRawType().isInterface())) {
+                cycle.sort(Comparator.comparing(Key::toString));
+                problems.add("Circular dependency between keys " + cycle
+                        + ". To resolve it, you should inject a Provider instead of an object.");
+            }
+        }
+
+        if (!problems.isEmpty()) {
+            throwException("Injector validation failed with %s problem(s):\n\t%s", problems.size(), String.join("\n\t", problems));
+        }
+
+        // the lazy trace is rebuilt from the injection stack, so all the bindings must go through it
+        if (!lazyTrace) {
+            for (Key<?> key : graph.acyclic(roots)) {
+                Binding<?> binding = bindings.get(key);
+                if (binding != null) {
+                    binding.markAcyclic();
+                }
+            }
+        }
     }
 
     @SuppressWarnings({"unchecked", "rawtypes"})
     @Override
     public <T> Collection<Key<T>> getKeysByType(Class<T> type) {
-        return (List) keysByRawType.getOrDefault(type, Collections.emptyList());
+        List<Key<T>> keys = (List) keysByRawType.getOrDefault(type, Collections.emptyList());
+        if (parent == null) {
+            return keys;
+        }
+
+        Set<Key<T>> merged = new LinkedHashSet<>(parent.getKeysByType(type));
+        merged.addAll(keys);
+        return List.copyOf(merged);
     }
 
     @Override
     public Set<Key<?>> getKeys() {
-        return Set.copyOf(bindings.keySet());
+        if (parent == null) {
+            return Set.copyOf(bindings.keySet());
+        }
+
+        Set<Key<?>> keys = new HashSet<>(parent.getKeys());
+        keys.addAll(bindings.keySet());
+        return Set.copyOf(keys);
+    }
+
+    @Override
+    public List<BindingMetrics> getBindingMetrics() {
+        if (!bindingMetrics) {
+            return List.of();
+        }
+
+        List<BindingMetrics> metrics = new ArrayList<>();
+        bindings.values().forEach(b -> {
+            BindingMetricsRecorder recorder = b.getMetrics();
+            if (recorder != null && recorder.getCount() > 0) {
+                metrics.add(recorder.snapshot(b.getKey(), b.getScope() == singletonScope));
+            }
+        });
+
+        return metrics;
     }
 
     @Override
@@ -372,14 +793,35 @@ public class DefaultInjector implements Injector {
         return noScope;
     }
 
+    boolean isDynamicBindingAllowed() {
+        return allowDynamicBinding;
+    }
+
     boolean isMethodInjectionEnabled() {
         return allowMethodInjection;
     }
 
+    boolean isImmutableMultibindings() {
+        return immutableMultibindings;
+    }
+
+    boolean isBindingMetricsEnabled() {
+        return bindingMetrics;
+    }
+
     boolean isInjectionTraceEnabled() {
         return injectionTraceEnabled;
     }
 
+    /**
+     * Returns whether trace messages are recorded during resolution. In the lazy trace mode nothing is recorded, and
+     * the trace is rebuilt from the injection stack only when an error occurs. Callers may use this to avoid
+     * creating message suppliers that would be discarded anyway.
+     */
+    boolean isTraceRecorded() {
+        return injectionTrace != null;
+    }
+
     @SuppressWarnings({"rawtypes", "unchecked"})
     private void applyDecorators() {
         for (Entry<Key<?>, Decoration<?>> e : decorations.entrySet()) {
@@ -403,7 +845,7 @@ public class DefaultInjector implements Injector {
      * Init all services that a marked for early setup
      */
     private void earlySetup() {
-        earlySetupSet.forEach(this::getInstance);
+        new EarlySetup(this).run(earlySetupSet, parallelEarlySetup);
         earlySetupSet.clear();
     }
 
@@ -422,7 +864,7 @@ public class DefaultInjector implements Injector {
      * @param messageSupplier trace message supplier
      */
     void trace(Supplier<String> messageSupplier) {
-        if (injectionTraceEnabled) {
+        if (injectionTrace != null) {
             injectionTrace.updateMessage(messageSupplier);
         }
     }
@@ -433,7 +875,7 @@ public class DefaultInjector implements Injector {
      * @param key that is resolving
      */
     void tracePush(Key<?> key) {
-        if (injectionTraceEnabled) {
+        if (injectionTrace != null) {
             injectionTrace.push(key);
         }
     }
@@ -442,7 +884,7 @@ public class DefaultInjector implements Injector {
      * Pop key out of trace stack
      */
     void tracePop() {
-        if (injectionTraceEnabled) {
+        if (injectionTrace != null) {
             injectionTrace.pop();
         }
     }
@@ -508,6 +950,11 @@ public class DefaultInjector implements Injector {
             return ex;
         }
 
+        if (lazyTrace) {
+            ex.setInjectionTrace(rebuildTrace());
+            return ex;
+        }
+
         InjectionTraceElement[] traceElements = new InjectionTraceElement[injectionTrace.size()];
         InjectionTraceElement element;
         int i = 0;
@@ -519,4 +966,33 @@ public class DefaultInjector implements Injector {
         return ex;
     }
 
+    /**
+     * Creates trace elements from the keys that are currently being resolved by this thread. Unlike the recorded
+     * trace, it only includes keys resolved via the injector (and not via providers), and its messages are derived
+     * from the bindings.
+     */
+    private InjectionTraceElement[] rebuildTrace() {
+        Key<?>[] keys = injectionStack.snapshot();
+        InjectionTraceElement[] traceElements = new InjectionTraceElement[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            Key<?> key = keys[i];
+            traceElements[i] = new InjectionTraceElement(key);
+            traceElements[i].setMessage(() -> describeBinding(key));
+        }
+        return traceElements;
+    }
+
+    private String describeBinding(Key<?> key) {
+        Binding<?> binding = bindings.get(key);
+        Provider<?> provider = binding != null ? binding.getOriginal() : null;
+        if (provider == null) {
+            return "";
+        }
+
+        if (provider instanceof TraceableProvider<?> traceable) {
+            provider = traceable.unwrap();
+        }
+        return "Invoking " + DIUtil.getProviderName(provider);
+    }
+
 }
@@ -25,26 +25,41 @@ import jakarta.inject.Provider;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * An implementation of a DI scopes with support scope events.
  */
 public class DefaultScope implements Scope {
 
-    private static final String SPECIAL_EVENT = AfterScopeEnd.class.getName();
+    private static final ScopeEventMethod[] NO_EVENT_METHODS = new ScopeEventMethod[0];
 
     protected final Collection<Class<? extends Annotation>> eventTypes;
-    protected final Map<String, Collection<ScopeEventBinding>> listeners;
+
+    /**
+     * Event listeners by event type name. Since 4.0, the values are {@link ScopeEventListeners} registries that are
+     * read-only collections, except for adding new bindings. Use {@link #addScopeEventListener(Object)} and
+     * {@link #removeScopeEventListener(Object)} to manage the listeners.
+     */
+    protected final Map<String, ScopeEventListeners> listeners;
+
+    // event handler methods are looked up once per class. Not using ClassValue, as its entries would stay attached to
+    // the classes after the scope is gone
+    private final Map<Class<?>, ScopeEventMethod[]> eventMethods;
+
+    // the injector that shuts this scope down. Only set for the scopes that are shut down with the injector
+    private final AtomicReference<Object> owner;
 
     @SafeVarargs
     public DefaultScope(Class<? extends Annotation>... customEventTypes) {
         this.listeners = new ConcurrentHashMap<>();
+        this.owner = new AtomicReference<>();
         this.eventTypes = Collections.newSetFromMap(new ConcurrentHashMap<>());
 
         // initialize the event listener data structures in constructor to avoid
@@ -60,8 +75,10 @@ public class DefaultScope implements Scope {
         }
 
         for (Class<? extends Annotation> type : eventTypes) {
-            listeners.put(type.getName(), new ConcurrentLinkedQueue<>());
+            listeners.put(type.getName(), new ScopeEventListeners());
         }
+
+        this.eventMethods = new ConcurrentHashMap<>();
     }
 
     /**
@@ -80,58 +97,90 @@ public class DefaultScope implements Scope {
      * Registers annotated methods of an arbitrary object for this scope lifecycle events.
      */
     public void addScopeEventListener(Object object) {
+        for (ScopeEventMethod method : eventMethods(object.getClass())) {
+            listeners.get(method.getEventType()).add(object, new ScopeEventBinding(object, method));
+        }
+    }
+
+    private ScopeEventMethod[] eventMethods(Class<?> type) {
+        ScopeEventMethod[] methods = eventMethods.get(type);
+        return methods != null ? methods : eventMethods.computeIfAbsent(type, this::collectEventMethods);
+    }
+
+    private ScopeEventMethod[] collectEventMethods(Class<?> type) {
 
-        // TODO: cache metadata for non-singletons scopes for performance
+        List<ScopeEventMethod> methods = new ArrayList<>(2);
 
         // 'getMethods' grabs public method from the class and its superclasses...
-        for (Method method : object.getClass().getMethods()) {
+        for (Method method : type.getMethods()) {
 
             for (Class<? extends Annotation> annotationType : eventTypes) {
-
                 if (method.isAnnotationPresent(annotationType)) {
-                    String typeName = annotationType.getName();
-
-                    Collection<ScopeEventBinding> eventListeners = listeners.get(typeName);
-                    eventListeners.add(new ScopeEventBinding(object, method));
+                    methods.add(ScopeEventMethod.of(annotationType, method));
                 }
             }
         }
+
+        return methods.isEmpty() ? NO_EVENT_METHODS : methods.toArray(NO_EVENT_METHODS);
     }
 
     public void removeScopeEventListener(Object object) {
-
-        // TODO: 2 level-deep full scan will not be very efficient for short scopes. Right
-        // now this would only affect the unit test scope, but if we start creating the
-        // likes of HTTP request scope, we may need to create a faster listener
-        // removal algorithm.
-
-        for (Entry<String, Collection<ScopeEventBinding>> entry : listeners.entrySet()) {
-
-            if (SPECIAL_EVENT.equals(entry.getKey())) {
-                // no scanning and removal of Scope providers ...
-                // for faster scan skip those
-                continue;
-            }
-
-            entry.getValue().removeIf(binding -> binding.getObject() == object);
+        for (ScopeEventListeners eventListeners : listeners.values()) {
+            eventListeners.removeListener(object);
         }
     }
 
     /**
-     * Posts a scope event to all registered listeners. There's no predetermined order of
-     * event dispatching. An exception thrown by any of the listeners stops further event
+     * Posts a scope event to all registered listeners. Listeners are notified in the order of
+     * registration. An exception thrown by any of the listeners stops further event
      * processing and is rethrown.
      */
     public void postScopeEvent(Class<? extends Annotation> type, Object... eventParameters) {
 
-        Collection<ScopeEventBinding> eventListeners = listeners.get(type.getName());
+        ScopeEventListeners eventListeners = getListeners(type);
 
         if (eventListeners != null) {
-            // remove listeners that were garbage collected
-            eventListeners.removeIf(listener -> !listener.onScopeEvent(eventParameters));
+            eventListeners.dispatch(eventParameters);
         }
     }
 
+    /**
+     * Posts a scope event to a single object, regardless of whether it is registered as a listener.
+     */
+    void postScopeEventTo(Object object, Class<? extends Annotation> type) {
+        String eventType = type.getName();
+        for (ScopeEventMethod method : eventMethods(object.getClass())) {
+            if (eventType.equals(method.getEventType())) {
+                new ScopeEventBinding(object, method).onScopeEvent();
+            }
+        }
+    }
+
+    ScopeEventListeners getListeners(Class<? extends Annotation> type) {
+        return listeners.get(type.getName());
+    }
+
+    /**
+     * Returns whether the instances of this scope are owned by the injector that binds them, so that the injector
+     * should shut the scope down when it is itself shut down. Returns false by default, as a plain DefaultScope is
+     * either the injector own singleton scope or a custom scope with an independent lifecycle.
+     *
+     * @since 4.0
+     */
+    public boolean isShutdownWithInjector() {
+        return false;
+    }
+
+    /**
+     * Makes the injector the owner of this scope, unless the scope is already owned by another injector.
+     *
+     * @return whether the injector owns the scope.
+     */
+    boolean claimOwnership(Object injector) {
+        Object existing = owner.compareAndExchange(null, injector);
+        return existing == null || existing == injector;
+    }
+
     @Override
     public <T> Provider<T> scope(Provider<T> unscoped) {
         return new DefaultScopeProvider<>(this, unscoped);
@@ -22,6 +22,8 @@ package io.bootique.di.spi;
 import io.bootique.di.DIRuntimeException;
 import jakarta.inject.Provider;
 
+import java.util.concurrent.locks.ReentrantLock;
+
 /**
  * A provider that provides scoping for other providers.
  */
@@ -30,11 +32,15 @@ public class DefaultScopeProvider<T> implements Provider<T> {
     private final Provider<T> delegate;
     private final DefaultScope scope;
 
+    // not using "synchronized", as it would pin a virtual thread to its carrier while the delegate blocks
+    private final ReentrantLock lock;
+
     private volatile T instance;
 
     public DefaultScopeProvider(DefaultScope scope, Provider<T> delegate) {
         this.scope = scope;
         this.delegate = delegate;
+        this.lock = new ReentrantLock();
 
         scope.addScopeEventListener(this);
     }
@@ -43,7 +49,8 @@ public class DefaultScopeProvider<T> implements Provider<T> {
     public T get() {
         T localInstance = instance;
         if (localInstance == null) {
-            synchronized (this) {
+            lock.lock();
+            try {
                 localInstance = instance;
                 if (localInstance == null) {
                     localInstance = instance = delegate.get();
@@ -55,12 +62,21 @@ public class DefaultScopeProvider<T> implements Provider<T> {
 
                     scope.addScopeEventListener(localInstance);
                 }
+            } finally {
+                lock.unlock();
             }
         }
 
         return localInstance;
     }
 
+    /**
+     * Returns a scoped instance if it was already created, or null otherwise. Never triggers instance creation.
+     */
+    T getInitializedInstance() {
+        return instance;
+    }
+
     @AfterScopeEnd
     public void afterScopeEnd() throws Exception {
         Object localInstance = instance;
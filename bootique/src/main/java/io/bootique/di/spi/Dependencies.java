@@ -0,0 +1,151 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.bootique.di.spi;
+
+import io.bootique.di.Key;
+import jakarta.inject.Provider;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Collects keys of the bindings that a provider depends on. Keys injected as objects are resolved when the provider
+ * is called, while keys injected as {@link Provider} are "deferred" and may be resolved at any later time.
+ *
+ * @since 4.0
+ */
+class Dependencies {
+
+    private final DefaultInjector injector;
+    private final Set<Key<?>> keys;
+    private final Set<Key<?>> deferredKeys;
+    private final List<String> problems;
+    private boolean complete;
+
+    Dependencies(DefaultInjector injector) {
+        this.injector = injector;
+        this.keys = new LinkedHashSet<>();
+        this.deferredKeys = new LinkedHashSet<>();
+        this.problems = new ArrayList<>(1);
+        this.complete = true;
+    }
+
+    /**
+     * Collects dependencies of a given provider, marking this collector as incomplete if the provider can't
+     * describe them.
+     *
+     * @return the exact class of the objects produced by the provider or null if it is not known statically
+     */
+    Class<?> collect(Provider<?> provider) {
+        if (provider instanceof DependencyAware aware) {
+            return aware.collectDependencies(this);
+        }
+
+        markIncomplete();
+        return null;
+    }
+
+    /**
+     * Collects dependencies of the injectable fields of a given class.
+     */
+    void collectFields(Class<?> type) {
+        for (FieldInjectionPoint point : injector.getInjectionPoints().fields(type)) {
+            if (point.getError() != null) {
+                addProblem(point.getError());
+            } else if (point.getKey() == null) {
+                Field field = point.getField();
+                addProblem(String.format("Provider field %s.%s must be parameterized to be usable for injection",
+                        field.getDeclaringClass().getName(), field.getName()));
+            } else if (point.isProvider()) {
+                addDeferred(point.getKey());
+            } else {
+                add(point.getKey());
+            }
+        }
+    }
+
+    /**
+     * Collects dependencies of the injectable methods of a given class.
+     */
+    void collectMethods(Class<?> type) {
+        for (MethodInjectionPoint point : injector.getInjectionPoints().methods(type)) {
+            if (point.getError() != null) {
+                addProblem(point.getError());
+                continue;
+            }
+
+            for (int i = 0; i < point.getArgumentCount(); i++) {
+                Key<?> key = point.getArgumentKey(i);
+                if (key == null) {
+                    Method method = point.getMethod();
+                    addProblem(String.format("Parameter of method '%s.%s()' of 'Provider' type must be "
+                            + "parameterized to be usable for injection",
+                            method.getDeclaringClass().getName(), method.getName()));
+                } else if (point.isProviderArgument(i)) {
+                    addDeferred(key);
+                } else {
+                    add(key);
+                }
+            }
+        }
+    }
+
+    void add(Key<?> key) {
+        keys.add(key);
+    }
+
+    void addDeferred(Key<?> key) {
+        deferredKeys.add(key);
+    }
+
+    void markIncomplete() {
+        this.complete = false;
+    }
+
+    /**
+     * Records a problem that will cause an error at injection time. The dependencies are considered incomplete.
+     */
+    void addProblem(String problem) {
+        problems.add(problem);
+        markIncomplete();
+    }
+
+    Set<Key<?>> getKeys() {
+        return keys;
+    }
+
+    Set<Key<?>> getDeferredKeys() {
+        return deferredKeys;
+    }
+
+    List<String> getProblems() {
+        return problems;
+    }
+
+    /**
+     * Returns whether all the dependencies were determined statically.
+     */
+    boolean isComplete() {
+        return complete;
+    }
+}
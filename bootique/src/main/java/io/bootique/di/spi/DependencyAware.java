@@ -0,0 +1,37 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.bootique.di.spi;
+
+/**
+ * Implemented by providers that can describe the bindings they depend on without resolving them. This allows
+ * to analyze the dependency graph of the injector before any objects are created.
+ *
+ * @since 4.0
+ */
+interface DependencyAware {
+
+    /**
+     * Adds dependencies of this provider to the collector. If some of the dependencies can't be determined
+     * statically, the provider should mark the collector as incomplete.
+     *
+     * @param dependencies collector of the dependencies
+     * @return the exact class of the objects produced by this provider or null if it is not known statically
+     */
+    Class<?> collectDependencies(Dependencies dependencies);
+}
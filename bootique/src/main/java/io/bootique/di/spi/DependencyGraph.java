@@ -0,0 +1,400 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.bootique.di.spi;
+
+import io.bootique.di.Injector;
+import io.bootique.di.Key;
+
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A static dependency graph of the injector bindings. Graph nodes are created lazily from the binding providers
+ * that implement {@link DependencyAware}. A node is "incomplete" if some of its dependencies can't be determined
+ * without running the code of the provider.
+ *
+ * @since 4.0
+ */
+class DependencyGraph {
+
+    private final DefaultInjector injector;
+    private final Map<Key<?>, Node> nodes;
+
+    DependencyGraph(DefaultInjector injector) {
+        this.injector = injector;
+        this.nodes = new HashMap<>();
+    }
+
+    Node node(Key<?> key) {
+        Node node = nodes.get(key);
+        if (node == null) {
+            node = createNode(key);
+            nodes.put(key, node);
+        }
+        return node;
+    }
+
+    /**
+     * Returns all keys reachable from a given key, including the key itself.
+     *
+     * @param includeDeferred whether to follow dependencies injected as providers
+     */
+    Set<Key<?>> reachable(Key<?> key, boolean includeDeferred) {
+        return reachable(List.of(key), includeDeferred);
+    }
+
+    /**
+     * Returns all keys reachable from the given keys, including the keys themselves, in the order of traversal.
+     *
+     * @param includeDeferred whether to follow dependencies injected as providers
+     */
+    Set<Key<?>> reachable(Collection<Key<?>> roots, boolean includeDeferred) {
+        Set<Key<?>> seen = new LinkedHashSet<>();
+        Deque<Key<?>> queue = new ArrayDeque<>();
+        for (Key<?> root : roots) {
+            if (seen.add(root)) {
+                queue.add(root);
+            }
+        }
+
+        Key<?> next;
+        while ((next = queue.poll()) != null) {
+            for (Key<?> dependency : node(next).dependencies(includeDeferred)) {
+                if (seen.add(dependency)) {
+                    queue.add(dependency);
+                }
+            }
+        }
+
+        return seen;
+    }
+
+    /**
+     * Finds dependency cycles reachable from the given keys.
+     *
+     * @param includeDeferred whether to follow dependencies injected as providers
+     * @return a map of keys participating in cycles to cycle ids. Keys of the same cycle have the same id.
+     */
+    Map<Key<?>, Integer> cycles(Collection<Key<?>> roots, boolean includeDeferred) {
+        CycleFinder finder = new CycleFinder(includeDeferred);
+        for (Key<?> root : roots) {
+            if (!finder.index.containsKey(root)) {
+                finder.visit(root);
+            }
+        }
+        return finder.cycles;
+    }
+
+    /**
+     * Returns the keys reachable from the given keys that never participate in dependency cycles, including cycles
+     * via injected providers. Such keys don't need to be tracked for cycles at injection time.
+     */
+    Set<Key<?>> acyclic(Collection<Key<?>> roots) {
+        Map<Key<?>, Integer> cycles = cycles(roots, true);
+        Map<Key<?>, Boolean> results = new HashMap<>();
+        for (Key<?> root : roots) {
+            collectAcyclic(root, cycles, results);
+        }
+
+        Set<Key<?>> acyclic = new HashSet<>();
+        results.forEach((k, v) -> {
+            if (v) {
+                acyclic.add(k);
+            }
+        });
+        return acyclic;
+    }
+
+    // iterative depth-first traversal, as dependency chains can be arbitrarily long
+    private void collectAcyclic(Key<?> root, Map<Key<?>, Integer> cycles, Map<Key<?>, Boolean> results) {
+        if (results.containsKey(root)) {
+            return;
+        }
+
+        Deque<AcyclicFrame> frames = new ArrayDeque<>();
+        frames.push(acyclicFrame(root, cycles, results));
+
+        while (!frames.isEmpty()) {
+            AcyclicFrame frame = frames.peek();
+
+            // check the result of the dependency visited last
+            if (frame.pending != null && !results.get(frame.pending)) {
+                results.put(frame.key, false);
+                frames.pop();
+                continue;
+            }
+
+            frame.pending = null;
+
+            Key<?> next = null;
+            boolean failed = false;
+            while (frame.dependencies.hasNext()) {
+                Key<?> dependency = frame.dependencies.next();
+                Boolean result = results.get(dependency);
+                if (result == null) {
+                    next = dependency;
+                    break;
+                } else if (!result) {
+                    failed = true;
+                    break;
+                }
+            }
+
+            if (next != null) {
+                // a key that is not a part of a cycle can't be reached again from its dependencies, so the
+                // traversal always terminates
+                frame.pending = next;
+                frames.push(acyclicFrame(next, cycles, results));
+            } else {
+                results.put(frame.key, frame.acyclic && !failed);
+                frames.pop();
+            }
+        }
+    }
+
+    private AcyclicFrame acyclicFrame(Key<?> key, Map<Key<?>, Integer> cycles, Map<Key<?>, Boolean> results) {
+        Node node = node(key);
+        boolean acyclic = !cycles.containsKey(key) && node.isComplete();
+        return new AcyclicFrame(key, acyclic, acyclic ? node.dependencies(true).iterator() : Collections.emptyIterator());
+    }
+
+    private Node createNode(Key<?> key) {
+        Dependencies dependencies = new Dependencies(injector);
+        Binding<?> binding = injector.getBinding(key);
+
+        if (key.getType().getRawType() == Injector.class) {
+            // injector can be used to resolve anything
+            dependencies.markIncomplete();
+        } else if (binding == null && injector.isInheritedKey(key)) {
+            // parent bindings are resolved within the parent and can never reach the keys of this injector,
+            // and the parent graph is validated separately
+        } else if (binding == null || binding.getOriginal() == null) {
+            collectDynamicBindingDependencies(key, dependencies);
+        } else if (binding.isDecorated()) {
+            // decorators get the undecorated object injected in place of some of their dependencies, so we can't
+            // reliably tell them apart
+            dependencies.markIncomplete();
+        } else {
+            dependencies.collect(binding.getOriginal());
+        }
+
+        return new Node(key, dependencies);
+    }
+
+    private void collectDynamicBindingDependencies(Key<?> key, Dependencies dependencies) {
+        if (!injector.isDynamicBindingAllowed()) {
+            dependencies.addProblem(String.format(
+                    "DI container has no binding for key %s and dynamic bindings are disabled.", key));
+            return;
+        }
+
+        // must match what DefaultInjector.createDynamicBinding(..) would do
+        Class<?> implementation = key.getType().getRawType();
+        if (implementation.isInterface() || Modifier.isAbstract(implementation.getModifiers())) {
+            dependencies.addProblem(String.format(
+                    "DI container has no binding for key %s, and its type can't be instantiated", key));
+            return;
+        }
+
+        if (ConstructorInjectingProvider.collectDependencies(implementation, injector, dependencies)) {
+            dependencies.collectFields(implementation);
+            if (injector.isMethodInjectionEnabled()) {
+                dependencies.collectMethods(implementation);
+            }
+        }
+    }
+
+    static class Node {
+
+        private final Key<?> key;
+        private final Set<Key<?>> dependencies;
+        private final Set<Key<?>> deferredDependencies;
+        private final List<String> problems;
+        private final boolean complete;
+
+        Node(Key<?> key, Dependencies dependencies) {
+            this.key = key;
+            this.dependencies = dependencies.getKeys();
+            this.deferredDependencies = dependencies.getDeferredKeys();
+            this.problems = dependencies.getProblems();
+            this.complete = dependencies.isComplete();
+        }
+
+        Key<?> getKey() {
+            return key;
+        }
+
+        Collection<Key<?>> dependencies(boolean includeDeferred) {
+            if (!includeDeferred || deferredDependencies.isEmpty()) {
+                return dependencies;
+            }
+
+            List<Key<?>> all = new ArrayList<>(dependencies.size() + deferredDependencies.size());
+            all.addAll(dependencies);
+            all.addAll(deferredDependencies);
+            return all;
+        }
+
+        Set<Key<?>> getDependencies() {
+            return dependencies;
+        }
+
+        Set<Key<?>> getDeferredDependencies() {
+            return deferredDependencies;
+        }
+
+        /**
+         * Returns problems found in the node that will cause errors at injection time.
+         */
+        List<String> getProblems() {
+            return problems;
+        }
+
+        boolean isComplete() {
+            return complete;
+        }
+    }
+
+    /**
+     * Finds strongly connected components of the graph (Tarjan's algorithm), and records the ones that form cycles.
+     */
+    private class CycleFinder {
+
+        private final boolean includeDeferred;
+        private final Map<Key<?>, Integer> index;
+        private final Map<Key<?>, Integer> lowLink;
+        private final Deque<Key<?>> stack;
+        private final Set<Key<?>> onStack;
+        private final Map<Key<?>, Integer> cycles;
+        private int cycleCounter;
+
+        CycleFinder(boolean includeDeferred) {
+            this.includeDeferred = includeDeferred;
+            this.index = new HashMap<>();
+            this.lowLink = new HashMap<>();
+            this.stack = new ArrayDeque<>();
+            this.onStack = new HashSet<>();
+            this.cycles = new HashMap<>();
+        }
+
+        // iterative version of the recursive algorithm, as dependency chains can be arbitrarily long
+        void visit(Key<?> root) {
+            Deque<TarjanFrame> frames = new ArrayDeque<>();
+            frames.push(open(root));
+
+            while (!frames.isEmpty()) {
+                TarjanFrame frame = frames.peek();
+
+                // propagate the low link of the dependency visited last
+                if (frame.pending != null) {
+                    lowLink.put(frame.key, Math.min(lowLink.get(frame.key), lowLink.get(frame.pending)));
+                    frame.pending = null;
+                }
+
+                Key<?> next = null;
+                while (frame.iterator.hasNext()) {
+                    Key<?> dependency = frame.iterator.next();
+                    if (!index.containsKey(dependency)) {
+                        next = dependency;
+                        break;
+                    } else if (onStack.contains(dependency)) {
+                        lowLink.put(frame.key, Math.min(lowLink.get(frame.key), index.get(dependency)));
+                    }
+                }
+
+                if (next != null) {
+                    frame.pending = next;
+                    frames.push(open(next));
+                } else {
+                    frames.pop();
+                    close(frame);
+                }
+            }
+        }
+
+        private TarjanFrame open(Key<?> key) {
+            int keyIndex = index.size();
+            index.put(key, keyIndex);
+            lowLink.put(key, keyIndex);
+            stack.push(key);
+            onStack.add(key);
+            return new TarjanFrame(key, keyIndex, node(key).dependencies(includeDeferred));
+        }
+
+        private void close(TarjanFrame frame) {
+            if (lowLink.get(frame.key) == frame.index) {
+                List<Key<?>> component = new ArrayList<>();
+                Key<?> member;
+                do {
+                    member = stack.pop();
+                    onStack.remove(member);
+                    component.add(member);
+                } while (member != frame.key);
+
+                if (component.size() > 1 || frame.dependencies.contains(frame.key)) {
+                    int cycleId = cycleCounter++;
+                    for (Key<?> k : component) {
+                        cycles.put(k, cycleId);
+                    }
+                }
+            }
+        }
+    }
+
+    private static class TarjanFrame {
+
+        final Key<?> key;
+        final int index;
+        final Collection<Key<?>> dependencies;
+        final Iterator<Key<?>> iterator;
+        Key<?> pending;
+
+        TarjanFrame(Key<?> key, int index, Collection<Key<?>> dependencies) {
+            this.key = key;
+            this.index = index;
+            this.dependencies = dependencies;
+            this.iterator = dependencies.iterator();
+        }
+    }
+
+    private static class AcyclicFrame {
+
+        final Key<?> key;
+        final boolean acyclic;
+        final Iterator<Key<?>> dependencies;
+        Key<?> pending;
+
+        AcyclicFrame(Key<?> key, boolean acyclic, Iterator<Key<?>> dependencies) {
+            this.key = key;
+            this.acyclic = acyclic;
+            this.dependencies = dependencies;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.bootique.di.spi;
+
+import io.bootique.di.Key;
+import io.bootique.jfr.EarlySetupEvent;
+import io.bootique.trace.StartupTracer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Initializes the bindings marked for early setup. In the parallel mode, the keys are split into groups using the
+ * static dependency graph, and independent groups are initialized concurrently on virtual threads. Keys that
+ * may participate in the same dependency cycle, as well as keys with dependencies that can't be determined
+ * statically, end up in the same group, as resolving a cycle from different threads may deadlock on the singleton
+ * locks.
+ * <p>
+ * Errors are reported deterministically: the exception of the first failed key (in the order of early setup
+ * registration) is thrown, with exceptions of the other groups added as suppressed.
+ *
+ * @since 4.0
+ */
+class EarlySetup {
+
+    private final DefaultInjector injector;
+
+    EarlySetup(DefaultInjector injector) {
+        this.injector = injector;
+    }
+
+    void run(Collection<Key<?>> keys, boolean parallel) {
+        List<Key<?>> orderedKeys = List.copyOf(keys);
+        if (!parallel || orderedKeys.size() < 2) {
+            orderedKeys.forEach(this::setup);
+            return;
+        }
+
+        List<List<Key<?>>> groups = groups(orderedKeys);
+        if (groups.size() < 2) {
+            orderedKeys.forEach(this::setup);
+            return;
+        }
+
+        List<Future<Failure>> results = new ArrayList<>(groups.size());
+
+        // closing the executor waits for all the tasks to finish
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (List<Key<?>> group : groups) {
+                results.add(executor.submit(() -> setup(group)));
+            }
+        }
+
+        List<Failure> failures = new ArrayList<>();
+        for (Future<Failure> result : results) {
+            Failure failure = result.resultNow();
+            if (failure != null) {
+                failures.add(failure);
+            }
+        }
+
+        if (!failures.isEmpty()) {
+            rethrow(orderedKeys, failures);
+        }
+    }
+
+    /**
+     * Splits keys into groups that can be initialized concurrently. Each group preserves the original order of the
+     * keys.
+     */
+    List<List<Key<?>>> groups(List<Key<?>> keys) {
+        DependencyGraph graph = new DependencyGraph(injector);
+        Map<Key<?>, Integer> cycles = graph.cycles(keys, true);
+
+        int len = keys.size();
+        int[] parents = new int[len];
+        int incompleteOwner = -1;
+        Map<Integer, Integer> cycleOwners = new HashMap<>();
+
+        for (int i = 0; i < len; i++) {
+            parents[i] = i;
+
+            for (Key<?> key : graph.reachable(keys.get(i), true)) {
+                if (!graph.node(key).isComplete()) {
+                    if (incompleteOwner < 0) {
+                        incompleteOwner = i;
+                    } else {
+                        union(parents, incompleteOwner, i);
+                    }
+                }
+
+                Integer cycle = cycles.get(key);
+                if (cycle != null) {
+                    Integer owner = cycleOwners.putIfAbsent(cycle, i);
+                    if (owner != null) {
+                        union(parents, owner, i);
+                    }
+                }
+            }
+        }
+
+        Map<Integer, List<Key<?>>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < len; i++) {
+            groups.computeIfAbsent(find(parents, i), r -> new ArrayList<>()).add(keys.get(i));
+        }
+
+        return new ArrayList<>(groups.values());
+    }
+
+    private Failure setup(List<Key<?>> group) {
+        for (Key<?> key : group) {
+            try {
+                setup(key);
+            } catch (RuntimeException | Error e) {
+                return new Failure(key, e);
+            }
+        }
+
+        return null;
+    }
+
+    private void setup(Key<?> key) {
+        EarlySetupEvent event = new EarlySetupEvent();
+        event.begin();
+
+        boolean success = false;
+        try {
+            StartupTracer.run(() -> "earlySetup " + key, () -> injector.getInstance(key));
+            success = true;
+        } finally {
+            if (event.shouldCommit()) {
+                event.setKey(key.toString());
+                event.setSuccess(success);
+                event.commit();
+            }
+        }
+    }
+
+    private static void rethrow(List<Key<?>> keys, List<Failure> failures) {
+        failures.sort(Comparator.comparingInt(f -> keys.indexOf(f.key())));
+
+        Throwable first = failures.get(0).error();
+        for (int i = 1; i < failures.size(); i++) {
+            first.addSuppressed(failures.get(i).error());
+        }
+
+        if (first instanceof Error error) {
+            throw error;
+        }
+
+        throw (RuntimeException) first;
+    }
+
+    private static int find(int[] parents, int i) {
+        while (parents[i] != i) {
+            parents[i] = parents[parents[i]];
+            i = parents[i];
+        }
+        return i;
+    }
+
+    private static void union(int[] parents, int i, int j) {
+        int ri = find(parents, i);
+        int rj = find(parents, j);
+
+        // keep the smaller index as a root, so that the group order follows the order of the keys
+        if (ri < rj) {
+            parents[rj] = ri;
+        } else if (rj < ri) {
+            parents[ri] = rj;
+        }
+    }
+
+    private record Failure(Key<?> key, Throwable error) {
+    }
+}
@@ -22,7 +22,6 @@ package io.bootique.di.spi;
 import io.bootique.di.TypeLiteral;
 import jakarta.inject.Provider;
 
-import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 
 class FieldInjectingDecoratorProvider<T> implements DecoratorProvider<T> {
@@ -43,7 +42,11 @@ class FieldInjectingDecoratorProvider<T> implements DecoratorProvider<T> {
         return new FieldInjectingProvider<T>(delegate.get(undecorated), injector) {
 
             @Override
-            protected Object value(Field field, TypeLiteral<?> fieldType, Annotation bindingAnnotation) {
+            protected Object value(FieldInjectionPoint point) {
+
+                Field field = point.getField();
+                TypeLiteral<?> fieldType = point.getType();
+
                 // delegate (possibly) injected as Provider
                 if (injector.getPredicates().isProviderType(fieldType.getRawType())) {
 
@@ -56,13 +59,13 @@ class FieldInjectingDecoratorProvider<T> implements DecoratorProvider<T> {
                     }
 
                     if(objectClass.isAssignableFrom(implementation)) {
-                        return undecorated;
+                        return DefaultInjector.providerValue(undecorated, fieldType.getRawType());
                     }
                 } else if (fieldType.getRawType().isAssignableFrom(implementation)) {
                     return undecorated.get();
                 }
 
-                return super.value(field, fieldType, bindingAnnotation);
+                return super.value(point);
             }
         };
     }
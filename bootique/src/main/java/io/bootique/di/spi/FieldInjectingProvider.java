@@ -20,16 +20,9 @@
 package io.bootique.di.spi;
 
 import io.bootique.di.Key;
-import io.bootique.di.TypeLiteral;
 import jakarta.inject.Provider;
 
-import java.lang.annotation.Annotation;
-import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
-import java.lang.reflect.Type;
-import java.lang.reflect.TypeVariable;
-import java.util.function.Predicate;
 
 class FieldInjectingProvider<T> extends MemberInjectingProvider<T> {
 
@@ -39,77 +32,54 @@ class FieldInjectingProvider<T> extends MemberInjectingProvider<T> {
 
     @Override
     protected void injectMembers(T object, Class<?> type) {
-
-        // bail on recursion stop condition
-        if (type == Object.class) {
-            return;
+        for (FieldInjectionPoint point : injector.getInjectionPoints().fields(type)) {
+            injectMember(object, point);
         }
+    }
 
-        injectMembers(object, type.getSuperclass());
-
-        Predicate<AccessibleObject> injectPredicate = injector.getPredicates().getInjectPredicate();
+    @Override
+    void collectMemberDependencies(Class<?> type, Dependencies dependencies) {
+        dependencies.collectFields(type);
+    }
 
-        for (Field field : type.getDeclaredFields()) {
-            if (Modifier.isStatic(field.getModifiers())) {
-                // skip static fields completely
-                continue;
-            }
+    private void injectMember(Object object, FieldInjectionPoint point) {
 
-            if (injectPredicate.test(field)) {
-                injectMember(object, field, getQualifier(field));
-            }
+        Field field = point.getField();
+        if (injector.isTraceRecorded()) {
+            injector.trace(() -> "Injecting field '" + field.getName() + "' of class " + field.getDeclaringClass().getName());
         }
-    }
 
-    private void injectMember(Object object, Field field, Annotation bindingAnnotation) {
-
-        injector.trace(() -> "Injecting field '" + field.getName() + "' of class " + field.getDeclaringClass().getName());
+        if (point.getError() != null) {
+            injector.throwException("%s", point.getError());
+        }
 
-        TypeLiteral<?> fieldType = getFieldType(object, field);
-        Object value = value(field, fieldType, bindingAnnotation);
+        Object value = value(point);
 
-        field.setAccessible(true);
         try {
-            field.set(object, value);
-        } catch (Exception e) {
+            point.set(object, value);
+        } catch (Throwable e) {
             injector.throwException("Error injecting into field %s.%s of type %s"
                     , e, field.getDeclaringClass().getName(), field.getName(), field.getType().getName());
         }
     }
 
-    protected Object value(Field field, TypeLiteral<?> fieldType, Annotation bindingAnnotation) {
+    protected Object value(FieldInjectionPoint point) {
 
-        if (injector.getPredicates().isProviderType(fieldType.getRawType())) {
-            Type parameterType = GenericTypesUtils.getGenericParameterType(field.getGenericType());
+        Key<?> key = point.getKey();
 
-            if (parameterType == null) {
+        if (point.isProvider()) {
+            if (key == null) {
+                Field field = point.getField();
                 injector.throwException("Provider field %s.%s must be parameterized to be usable for injection"
                         , field.getDeclaringClass().getName(), field.getName());
             }
 
-            return injector.getProvider(Key.get(TypeLiteral.of(parameterType), bindingAnnotation));
+            return injector.getProviderValue(key, point.getField().getType());
         } else {
-            Key<?> key = Key.get(fieldType, bindingAnnotation);
             return injector.getInstanceWithCycleProtection(key, false);
         }
     }
 
-    private TypeLiteral<?> getFieldType(Object object, Field field) {
-        Type genericType = field.getGenericType();
-        // field is defined as some generic type that should be provided by its defining class
-        if (genericType instanceof TypeVariable) {
-            Class<?> objectClass = object.getClass();
-            TypeLiteral<?> typeLiteral = GenericTypesUtils.resolveVariableType(objectClass, field, genericType);
-            if (typeLiteral == null) {
-                return injector.throwException("Unable to resolve type parameter %s for the field %s type %s "
-                        , genericType.getTypeName(), field.getName(), objectClass.getName());
-            }
-            return typeLiteral;
-        }
-
-        return TypeLiteral.of(genericType);
-    }
-
     @Override
     public String getName() {
         return "field injecting provider";
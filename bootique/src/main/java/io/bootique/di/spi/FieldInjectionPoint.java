@@ -0,0 +1,118 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.bootique.di.spi;
+
+import io.bootique.di.Key;
+import io.bootique.di.TypeLiteral;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+/**
+ * Immutable injection metadata of a single field, resolved once per concrete class.
+ *
+ * @since 4.0
+ */
+final class FieldInjectionPoint {
+
+    private final Field field;
+    private final TypeLiteral<?> type;
+    private final Key<?> key;
+    private final boolean provider;
+    private final String error;
+    private final MethodHandle setter;
+
+    FieldInjectionPoint(Field field, TypeLiteral<?> type, Key<?> key, boolean provider, String error) {
+        this.field = field;
+        this.type = type;
+        this.key = key;
+        this.provider = provider;
+        this.error = error;
+        this.setter = createSetter(field);
+    }
+
+    private static MethodHandle createSetter(Field field) {
+
+        // final fields can only be set via reflection
+        if (!Modifier.isFinal(field.getModifiers())) {
+            try {
+                VarHandle handle = MethodHandles
+                        .privateLookupIn(field.getDeclaringClass(), MethodHandles.lookup())
+                        .unreflectVarHandle(field);
+
+                return handle
+                        .toMethodHandle(VarHandle.AccessMode.SET)
+                        .asType(MethodType.methodType(void.class, Object.class, Object.class));
+            } catch (IllegalAccessException | RuntimeException e) {
+                // fallback to reflection
+            }
+        }
+
+        try {
+            field.setAccessible(true);
+        } catch (RuntimeException e) {
+            // ignore here, will be reported on the actual injection attempt
+        }
+
+        return null;
+    }
+
+    void set(Object object, Object value) throws Throwable {
+        if (setter != null) {
+            setter.invokeExact(object, value);
+        } else {
+            field.set(object, value);
+        }
+    }
+
+    Field getField() {
+        return field;
+    }
+
+    /**
+     * Returns field type with all type variables resolved against the concrete class. May be null if the point is
+     * invalid.
+     */
+    TypeLiteral<?> getType() {
+        return type;
+    }
+
+    /**
+     * Returns a key of the injected dependency. For Provider fields this is a key of the provided object. May be null
+     * if the point is invalid.
+     */
+    Key<?> getKey() {
+        return key;
+    }
+
+    boolean isProvider() {
+        return provider;
+    }
+
+    /**
+     * Returns a message describing why this field can't be injected, or null if the field is valid.
+     */
+    String getError() {
+        return error;
+    }
+}
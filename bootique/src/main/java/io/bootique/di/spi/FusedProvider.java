@@ -0,0 +1,173 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import io.bootique.di.Key;
+import jakarta.inject.Provider;
+
+/**
+ * A provider that replaces a standard chain of injection providers of a binding (an optional trace wrapper, method
+ * and field injection, and a root provider that creates or returns the object) with a single provider. All the
+ * calls within the chain become direct calls to the known provider classes, that the JIT can inline, instead of the
+ * interface calls through each layer of the chain. Error reporting is the same as that of the original chain.
+ *
+ * @param <T> type of provided object
+ */
+class FusedProvider<T> implements NamedProvider<T>, DependencyAware {
+
+    private final Provider<T> original;
+
+    // not null if the chain is traceable
+    private final Key<T> traceKey;
+    private final DefaultInjector injector;
+
+    // not null if the chain injects into methods
+    private final MethodInjectingProvider<T> methodInjector;
+    private final FieldInjectingProvider<T> fieldInjector;
+
+    // only one of the two is set, so that the common case of constructor injection is a monomorphic call
+    private final ConstructorInjectingProvider<T> constructor;
+    private final Provider<T> root;
+
+    private FusedProvider(
+            Provider<T> original,
+            Key<T> traceKey,
+            MethodInjectingProvider<T> methodInjector,
+            FieldInjectingProvider<T> fieldInjector) {
+
+        this.original = original;
+        this.traceKey = traceKey;
+        this.injector = fieldInjector.injector;
+        this.methodInjector = methodInjector;
+        this.fieldInjector = fieldInjector;
+
+        Provider<T> root = fieldInjector.delegate;
+        if (root.getClass() == ConstructorInjectingProvider.class) {
+            this.constructor = (ConstructorInjectingProvider<T>) root;
+            this.root = null;
+        } else {
+            this.constructor = null;
+            this.root = root;
+        }
+    }
+
+    /**
+     * Returns a fused equivalent of a given provider, or the provider itself, if it is not a standard injection chain.
+     */
+    static <T> Provider<T> fuse(Provider<T> provider) {
+        if (provider == null) {
+            return null;
+        }
+
+        Provider<T> next = provider;
+
+        Key<T> traceKey = null;
+        if (next.getClass() == TraceableProvider.class) {
+            TraceableProvider<T> traceable = (TraceableProvider<T>) next;
+            traceKey = traceable.getKey();
+            next = traceable.unwrap();
+        }
+
+        MethodInjectingProvider<T> methodInjector = null;
+        if (next.getClass() == MethodInjectingProvider.class) {
+            methodInjector = (MethodInjectingProvider<T>) next;
+            next = methodInjector.delegate;
+        }
+
+        if (next.getClass() != FieldInjectingProvider.class) {
+            return provider;
+        }
+
+        FieldInjectingProvider<T> fieldInjector = (FieldInjectingProvider<T>) next;
+        if (fieldInjector.delegate == null || methodInjector != null && methodInjector.injector != fieldInjector.injector) {
+            return provider;
+        }
+
+        return new FusedProvider<>(provider, traceKey, methodInjector, fieldInjector);
+    }
+
+    @Override
+    public T get() {
+        if (traceKey == null) {
+            return injectMethods();
+        }
+
+        // same as TraceableProvider
+        injector.tracePush(traceKey);
+        T result;
+        try {
+            result = injectMethods();
+        } catch (Exception ex) {
+            return injector.throwException("Underlying provider (%s) thrown exception", ex, outerName());
+        }
+        injector.tracePop();
+        return result;
+    }
+
+    private T injectMethods() {
+        if (methodInjector == null) {
+            return injectFields();
+        }
+
+        // same as MethodInjectingProvider
+        T result;
+        try {
+            result = injectFields();
+        } catch (Exception ex) {
+            return injector.throwException("Underlying provider (%s) thrown exception", ex, fieldInjector.getName());
+        }
+        methodInjector.injectMembers(result, result.getClass());
+        return result;
+    }
+
+    private T injectFields() {
+
+        // same as FieldInjectingProvider
+        T result;
+        try {
+            result = constructor != null ? constructor.get() : root.get();
+        } catch (Exception ex) {
+            return injector.throwException("Underlying provider (%s) thrown exception", ex, rootName());
+        }
+        if (result == null) {
+            return injector.throwException("Underlying provider (%s) returned NULL instance", rootName());
+        }
+        fieldInjector.injectMembers(result, result.getClass());
+        return result;
+    }
+
+    private String outerName() {
+        return methodInjector != null ? methodInjector.getName() : fieldInjector.getName();
+    }
+
+    private String rootName() {
+        return DIUtil.getProviderName(fieldInjector.delegate);
+    }
+
+    @Override
+    public String getName() {
+        return DIUtil.getProviderName(original);
+    }
+
+    @Override
+    public Class<?> collectDependencies(Dependencies dependencies) {
+        return dependencies.collect(original);
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.bootique.di.spi;
+
+import io.bootique.di.DIRuntimeException;
+import io.bootique.di.Key;
+import io.bootique.di.TypeLiteral;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A per-class cache of field and method injection points. Class hierarchy scanning, predicates checks and generic
+ * types resolution are done once per concrete class, so that member injection of each new instance doesn't require
+ * any reflection lookups.
+ * <p>
+ * The cache belongs to a root injector and is shared with its child injectors. It is a plain map (and not a
+ * {@link ClassValue}), so that the cached entries are released together with the injector, instead of staying
+ * attached to the classes after the injector is gone.
+ *
+ * @since 4.0
+ */
+class InjectionPointsCache {
+
+    private static final FieldInjectionPoint[] NO_FIELDS = new FieldInjectionPoint[0];
+    private static final MethodInjectionPoint[] NO_METHODS = new MethodInjectionPoint[0];
+
+    private final InjectorPredicates predicates;
+    private final Map<Class<?>, FieldInjectionPoint[]> fields;
+    private final Map<Class<?>, MethodInjectionPoint[]> methods;
+
+    InjectionPointsCache(InjectorPredicates predicates) {
+        this.predicates = predicates;
+        this.fields = new ConcurrentHashMap<>();
+        this.methods = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Returns injectable fields of the class and its superclasses, starting from the topmost superclass.
+     */
+    FieldInjectionPoint[] fields(Class<?> type) {
+        FieldInjectionPoint[] points = fields.get(type);
+        return points != null ? points : fields.computeIfAbsent(type, this::collectFields);
+    }
+
+    /**
+     * Returns injectable methods of the class and its superclasses, excluding overridden methods.
+     */
+    MethodInjectionPoint[] methods(Class<?> type) {
+        MethodInjectionPoint[] points = methods.get(type);
+        return points != null ? points : methods.computeIfAbsent(type, this::collectMethods);
+    }
+
+    private FieldInjectionPoint[] collectFields(Class<?> objectClass) {
+        List<FieldInjectionPoint> points = new ArrayList<>();
+        collectFields(objectClass, objectClass, points);
+        return points.isEmpty() ? NO_FIELDS : points.toArray(NO_FIELDS);
+    }
+
+    private void collectFields(Class<?> objectClass, Class<?> type, List<FieldInjectionPoint> points) {
+
+        // bail on recursion stop condition
+        if (type == null || type == Object.class) {
+            return;
+        }
+
+        collectFields(objectClass, type.getSuperclass(), points);
+
+        for (Field field : type.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers())) {
+                // skip static fields completely
+                continue;
+            }
+
+            if (predicates.hasInjectAnnotation(field)) {
+                points.add(createFieldPoint(objectClass, field));
+            }
+        }
+    }
+
+    private FieldInjectionPoint createFieldPoint(Class<?> objectClass, Field field) {
+
+        try {
+            Annotation qualifier = getQualifier(field.getAnnotations(), field);
+            TypeLiteral<?> fieldType = getFieldType(objectClass, field);
+            if (fieldType == null) {
+                String error = String.format("Unable to resolve type parameter %s for the field %s type %s ",
+                        field.getGenericType().getTypeName(), field.getName(), objectClass.getName());
+                return new FieldInjectionPoint(field, null, null, false, error);
+            }
+
+            if (predicates.isProviderType(fieldType.getRawType())) {
+                Type parameterType = GenericTypesUtils.getGenericParameterType(field.getGenericType());
+                Key<?> key = parameterType != null ? Key.get(TypeLiteral.of(parameterType), qualifier) : null;
+                return new FieldInjectionPoint(field, fieldType, key, true, null);
+            }
+
+            return new FieldInjectionPoint(field, fieldType, Key.get(fieldType, qualifier), false, null);
+
+        } catch (DIRuntimeException e) {
+            return new FieldInjectionPoint(field, null, null, false, e.getOriginalMessage());
+        }
+    }
+
+    private static TypeLiteral<?> getFieldType(Class<?> objectClass, Field field) {
+        Type genericType = field.getGenericType();
+
+        // field is defined as some generic type that should be provided by its defining class
+        return genericType instanceof TypeVariable
+                ? GenericTypesUtils.resolveVariableType(objectClass, field, genericType)
+                : TypeLiteral.of(genericType);
+    }
+
+    private MethodInjectionPoint[] collectMethods(Class<?> type) {
+        List<MethodInjectionPoint> points = new ArrayList<>();
+
+        for (List<Method> methodList : MethodInjectingProvider.collectMethods(type, new LinkedHashMap<>()).values()) {
+            for (Method method : methodList) {
+                if (predicates.hasInjectAnnotation(method)) {
+                    points.add(createMethodPoint(method));
+                }
+            }
+        }
+
+        return points.isEmpty() ? NO_METHODS : points.toArray(NO_METHODS);
+    }
+
+    private MethodInjectionPoint createMethodPoint(Method method) {
+
+        Type[] parameterTypes = method.getGenericParameterTypes();
+        Class<?>[] parameterClasses = method.getParameterTypes();
+        Annotation[][] parameterAnnotations = method.getParameterAnnotations();
+
+        int len = parameterTypes.length;
+        Key<?>[] keys = new Key<?>[len];
+        boolean[] providers = new boolean[len];
+
+        try {
+            for (int i = 0; i < len; i++) {
+                Annotation qualifier = getQualifier(parameterAnnotations[i], method);
+                Type parameterType = parameterTypes[i];
+
+                if (predicates.isProviderType(parameterClasses[i])) {
+                    providers[i] = true;
+                    parameterType = GenericTypesUtils.getGenericParameterType(parameterType);
+                    if (parameterType == null) {
+                        // leave the key undefined, this will be reported on injection
+                        continue;
+                    }
+                }
+
+                keys[i] = Key.get(TypeLiteral.of(parameterType), qualifier);
+            }
+        } catch (DIRuntimeException e) {
+            return new MethodInjectionPoint(method, keys, providers, e.getOriginalMessage());
+        }
+
+        return new MethodInjectionPoint(method, keys, providers, null);
+    }
+
+    private Annotation getQualifier(Annotation[] annotations, Member member) {
+        Annotation bindingAnnotation = null;
+        for (Annotation annotation : annotations) {
+            if (predicates.isQualifierAnnotation(annotation)) {
+                if (bindingAnnotation != null) {
+                    throw new DIRuntimeException("Found more than one qualifier annotation for '%s.%s'.",
+                            member.getDeclaringClass().getName(),
+                            member.getName());
+                }
+                bindingAnnotation = annotation;
+            }
+        }
+        return bindingAnnotation;
+    }
+}
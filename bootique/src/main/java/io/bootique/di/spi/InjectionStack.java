@@ -21,58 +21,108 @@ package io.bootique.di.spi;
 
 import io.bootique.di.Key;
 
-import java.util.LinkedList;
-import java.util.List;
+import java.util.Arrays;
 
 /**
- * A helper object that tracks the injection stack to prevent circular dependencies.
+ * A helper object that tracks the injection stack to prevent circular dependencies. Each thread has its own
+ * array-based stack that is reused between injections, so push and pop operations do not allocate, and cycle
+ * detection compares the cached key hash codes, only calling "equals" on keys when the hash codes match.
  */
 class InjectionStack {
 
-    private final ThreadLocal<LinkedList<Key<?>>> stack;
+    private final ThreadLocal<Frames> stack;
 
     InjectionStack() {
-        this.stack = new ThreadLocal<>();
+        this.stack = ThreadLocal.withInitial(Frames::new);
     }
 
     void reset() {
-        List<Key<?>> localStack = stack.get();
-        if (localStack != null) {
-            localStack.clear();
-        }
+        stack.get().clear();
     }
 
     boolean push(Key<?> bindingKey) {
-        LinkedList<Key<?>> localStack = stack.get();
-        if (localStack == null) {
-            localStack = new LinkedList<>();
-            stack.set(localStack);
-        }
-
-        if (localStack.contains(bindingKey)) {
-            return false;
-        }
-
-        localStack.add(bindingKey);
-        return true;
+        return stack.get().push(bindingKey);
     }
 
     void pop() {
-        LinkedList<Key<?>> localStack = stack.get();
-        if (localStack != null) {
-            localStack.removeLast();
-        } else {
-            throw new IndexOutOfBoundsException("0");
-        }
+        stack.get().pop();
+    }
+
+    /**
+     * Returns keys currently on the stack of the calling thread, starting from the innermost one.
+     */
+    Key<?>[] snapshot() {
+        return stack.get().snapshot();
     }
 
     @Override
     public String toString() {
-        List<Key<?>> localStack = stack.get();
-        if (localStack != null) {
-            return String.valueOf(localStack);
-        } else {
-            return "[]";
+        return stack.get().toString();
+    }
+
+    private static final class Frames {
+
+        private static final int INITIAL_CAPACITY = 16;
+
+        private Key<?>[] keys;
+        private int[] hashes;
+        private int size;
+
+        Frames() {
+            this.keys = new Key<?>[INITIAL_CAPACITY];
+            this.hashes = new int[INITIAL_CAPACITY];
+        }
+
+        boolean push(Key<?> key) {
+            int hash = key.hashCode();
+            for (int i = 0; i < size; i++) {
+                if (hashes[i] == hash && keys[i].equals(key)) {
+                    return false;
+                }
+            }
+
+            if (size == hashes.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                hashes = Arrays.copyOf(hashes, size * 2);
+            }
+
+            keys[size] = key;
+            hashes[size] = hash;
+            size++;
+            return true;
+        }
+
+        void pop() {
+            if (size == 0) {
+                throw new IndexOutOfBoundsException("0");
+            }
+
+            keys[--size] = null;
+        }
+
+        Key<?>[] snapshot() {
+            Key<?>[] result = new Key<?>[size];
+            for (int i = 0; i < size; i++) {
+                result[i] = keys[size - i - 1];
+            }
+            return result;
+        }
+
+        void clear() {
+            Arrays.fill(keys, 0, size, null);
+            size = 0;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder buffer = new StringBuilder("[");
+            for (int i = 0; i < size; i++) {
+                if (i > 0) {
+                    buffer.append(", ");
+                }
+                buffer.append(keys[i]);
+            }
+            return buffer.append(']').toString();
         }
     }
 }
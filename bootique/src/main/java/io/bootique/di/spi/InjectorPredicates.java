@@ -22,6 +22,7 @@ package io.bootique.di.spi;
 import io.bootique.di.BQInject;
 import io.bootique.di.DIBootstrap;
 import io.bootique.di.DIRuntimeException;
+import io.bootique.di.Lazy;
 import io.bootique.di.Provides;
 import jakarta.inject.Inject;
 import jakarta.inject.Provider;
@@ -55,7 +56,9 @@ public class InjectorPredicates {
 
     private Predicate<Type> providerPredicate = Provider.class::equals;
 
-    private Function<Provider<?>, Provider<?>> providerFunction = Function.identity();
+    private static final Function<Provider<?>, Provider<?>> IDENTITY_PROVIDER_FUNCTION = Function.identity();
+
+    private Function<Provider<?>, Provider<?>> providerFunction = IDENTITY_PROVIDER_FUNCTION;
 
     private ExceptionProvider<?> exceptionProvider = DIRuntimeException::new;
 
@@ -108,7 +111,7 @@ public class InjectorPredicates {
     }
 
     boolean isProviderType(Type type) {
-        return providerPredicate.test(type);
+        return type == Lazy.class || providerPredicate.test(type);
     }
 
     @SuppressWarnings("unchecked")
@@ -116,6 +119,13 @@ public class InjectorPredicates {
         return (Provider<T>) providerFunction.apply(provider);
     }
 
+    /**
+     * Returns whether providers returned by the injector are passed through a custom wrapping function.
+     */
+    boolean hasProviderWrapper() {
+        return providerFunction != IDENTITY_PROVIDER_FUNCTION;
+    }
+
     Predicate<Method> getProvidesMethodPredicate() {
         return providesMethodPredicate;
     }
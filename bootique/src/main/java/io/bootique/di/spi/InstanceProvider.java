@@ -23,7 +23,7 @@ import jakarta.inject.Provider;
 
 import java.util.Objects;
 
-class InstanceProvider<T> implements Provider<T> {
+class InstanceProvider<T> implements Provider<T>, DependencyAware {
 
     private final T value;
 
@@ -35,4 +35,9 @@ class InstanceProvider<T> implements Provider<T> {
     public T get() {
         return value;
     }
+
+    @Override
+    public Class<?> collectDependencies(Dependencies dependencies) {
+        return value.getClass();
+    }
 }
@@ -0,0 +1,63 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import io.bootique.di.Key;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Assigns dense numeric ids to the keys bound in a single injector, so that the injector tables can be indexed by
+ * id. Ids start at zero and are only assigned to bound keys, so the tables are sized by the number of bindings of the
+ * injector. Lookups of unbound keys do not register anything. A lookup is a single map access that relies on the hash
+ * code cached in the key, and doesn't allocate, so it costs the same for a fresh key instance as for a reused one.
+ *
+ * @since 4.0
+ */
+class KeyIds {
+
+    static final int NO_ID = -1;
+
+    private final ConcurrentMap<Key<?>, Integer> ids;
+    private final AtomicInteger sequence;
+
+    KeyIds() {
+        this.ids = new ConcurrentHashMap<>();
+        this.sequence = new AtomicInteger();
+    }
+
+    /**
+     * Returns an id of the key, assigning a new one if the key doesn't have it yet.
+     */
+    int idOf(Key<?> key) {
+        int id = find(key);
+        return id != NO_ID ? id : ids.computeIfAbsent(key, k -> sequence.getAndIncrement());
+    }
+
+    /**
+     * Returns an id of the key or {@link #NO_ID} if the key was never assigned an id.
+     */
+    int find(Key<?> key) {
+        Integer id = ids.get(key);
+        return id != null ? id : NO_ID;
+    }
+}
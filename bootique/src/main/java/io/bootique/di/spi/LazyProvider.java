@@ -0,0 +1,69 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.bootique.di.spi;
+
+import io.bootique.di.Lazy;
+import jakarta.inject.Provider;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A {@link Lazy} implementation that calls the underlying provider once and caches the result.
+ *
+ * @since 4.0
+ */
+class LazyProvider<T> implements Lazy<T> {
+
+    private final ReentrantLock lock;
+    private Provider<T> delegate;
+    private T instance;
+
+    // a separate flag instead of a null check, as the delegate may legitimately return null (e.g. an optional binding)
+    private volatile boolean initialized;
+
+    LazyProvider(Provider<T> delegate) {
+        this.delegate = delegate;
+        this.lock = new ReentrantLock();
+    }
+
+    @Override
+    public T get() {
+        if (!initialized) {
+            lock.lock();
+            try {
+                if (!initialized) {
+                    instance = delegate.get();
+                    initialized = true;
+
+                    // the delegate is no longer needed, let it go
+                    delegate = null;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        return instance;
+    }
+
+    @Override
+    public String toString() {
+        return initialized ? "Lazy[" + instance + "]" : "Lazy[not initialized]";
+    }
+}
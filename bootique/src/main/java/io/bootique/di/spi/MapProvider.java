@@ -21,16 +21,26 @@ package io.bootique.di.spi;
 
 import jakarta.inject.Provider;
 
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
 
-class MapProvider<K, V> implements Provider<Map<K, V>> {
+/**
+ * A provider of a map multibinding. If all the map values come from singletons or instances without injectable
+ * members, the values are resolved once and cached in a compact immutable map. Subsequent calls return either the
+ * cached map or its mutable copy, depending on the injector configuration.
+ */
+class MapProvider<K, V> implements Provider<Map<K, V>>, DependencyAware {
 
     private final Map<K, Provider<? extends V>> providers;
     private final DefaultInjector injector;
 
+    private volatile Map<K, V> snapshot;
+    private volatile boolean stabilityChecked;
+
     MapProvider(DefaultInjector injector) {
         this.providers = new ConcurrentHashMap<>();
         this.injector = injector;
@@ -38,17 +48,72 @@ class MapProvider<K, V> implements Provider<Map<K, V>> {
 
     @Override
     public Map<K, V> get() {
+        Map<K, V> snapshot = this.snapshot;
+        if (snapshot != null) {
+            return injector.isImmutableMultibindings() ? snapshot : new HashMap<>(snapshot);
+        }
+
         Map<K, V> map = new HashMap<>();
 
         for (Entry<K, Provider<? extends V>> entry : providers.entrySet()) {
-            injector.trace(() -> "Resolve map key '" + entry.getKey() + "'");
+            if (injector.isTraceRecorded()) {
+                injector.trace(() -> "Resolve map key '" + entry.getKey() + "'");
+            }
             map.put(entry.getKey(), entry.getValue().get());
         }
 
+        if (!stabilityChecked) {
+            stabilityChecked = true;
+            if (isStable()) {
+                this.snapshot = snapshot = immutableCopy(map);
+                return injector.isImmutableMultibindings() ? snapshot : map;
+            }
+        }
+
         return map;
     }
 
+    private boolean isStable() {
+        for (Provider<? extends V> provider : providers.values()) {
+            if (!injector.isStableProvider(provider)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <K, V> Map<K, V> immutableCopy(Map<K, V> map) {
+        if (map.isEmpty()) {
+            return Map.of();
+        }
+
+        // EnumMap is the most compact and the fastest option for the maps keyed by enums
+        Class<?> enumType = null;
+        for (K key : map.keySet()) {
+            Class<?> keyEnumType = key instanceof Enum<?> e ? e.getDeclaringClass() : null;
+            if (keyEnumType == null || (enumType != null && enumType != keyEnumType)) {
+
+                // not using Map.copyOf(..), as map contributions may be null
+                return Collections.unmodifiableMap(new HashMap<>(map));
+            }
+            enumType = keyEnumType;
+        }
+
+        return Collections.unmodifiableMap(new EnumMap(map));
+    }
+
+    @Override
+    public Class<?> collectDependencies(Dependencies dependencies) {
+        for (Provider<? extends V> provider : providers.values()) {
+            dependencies.collect(provider);
+        }
+        return null;
+    }
+
     void put(K key, Provider<? extends V> provider) {
         providers.put(key, provider);
+        snapshot = null;
+        stabilityChecked = false;
     }
 }
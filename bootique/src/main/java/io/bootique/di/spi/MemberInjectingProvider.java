@@ -21,16 +21,12 @@ package io.bootique.di.spi;
 
 import jakarta.inject.Provider;
 
-import java.lang.annotation.Annotation;
-import java.lang.reflect.AccessibleObject;
-import java.lang.reflect.Member;
-
 /**
  * Base abstract implementation for providers injecting into object members (fields and methods)
  *
  * @param <T> type of object for which we perform injection
  */
-abstract class MemberInjectingProvider<T> implements NamedProvider<T> {
+abstract class MemberInjectingProvider<T> implements NamedProvider<T>, DependencyAware {
 
     protected final DefaultInjector injector;
     protected final Provider<T> delegate;
@@ -55,24 +51,19 @@ abstract class MemberInjectingProvider<T> implements NamedProvider<T> {
         return result;
     }
 
-    abstract void injectMembers(T object, Class<?> aClass);
-
-    Annotation getQualifier(Annotation[] annotations, AccessibleObject object) {
-        Annotation bindingAnnotation = null;
-        for(Annotation fieldAnnotation : annotations) {
-            if(injector.getPredicates().isQualifierAnnotation(fieldAnnotation)) {
-                if(bindingAnnotation != null) {
-                    injector.throwException("Found more than one qualifier annotation for '%s.%s'."
-                            , ((Member)object).getDeclaringClass().getName()
-                            , ((Member)object).getName());
-                }
-                bindingAnnotation = fieldAnnotation;
-            }
+    @Override
+    public Class<?> collectDependencies(Dependencies dependencies) {
+        Class<?> type = dependencies.collect(delegate);
+        if (type == null) {
+            // members of an object of unknown type can't be analyzed
+            dependencies.markIncomplete();
+        } else {
+            collectMemberDependencies(type, dependencies);
         }
-        return bindingAnnotation;
+        return type;
     }
 
-    Annotation getQualifier(AccessibleObject object) {
-        return getQualifier(object.getAnnotations(), object);
-    }
+    abstract void injectMembers(T object, Class<?> aClass);
+
+    abstract void collectMemberDependencies(Class<?> type, Dependencies dependencies);
 }
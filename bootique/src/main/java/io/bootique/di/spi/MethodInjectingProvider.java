@@ -20,15 +20,12 @@
 package io.bootique.di.spi;
 
 import io.bootique.di.Key;
-import io.bootique.di.TypeLiteral;
 import jakarta.inject.Provider;
 
-import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -51,16 +48,16 @@ class MethodInjectingProvider<T> extends MemberInjectingProvider<T> {
 
     @Override
     protected void injectMembers(T object, Class<?> type) {
-        Map<String, List<Method>> methods = collectMethods(type, new LinkedHashMap<>());
-        for (List<Method> methodList : methods.values()){
-            methodList.forEach(method -> {
-                if (injector.getPredicates().hasInjectAnnotation(method)) {
-                    injectMember(object, method);
-                }
-            });
+        for (MethodInjectionPoint point : injector.getInjectionPoints().methods(type)) {
+            injectMember(object, point);
         }
     }
 
+    @Override
+    void collectMemberDependencies(Class<?> type, Dependencies dependencies) {
+        dependencies.collectMethods(type);
+    }
+
     /**
      * Collect methods for provided types, including all methods for supertypes
      * wbut without overridden methods.
@@ -156,55 +153,57 @@ class MethodInjectingProvider<T> extends MemberInjectingProvider<T> {
      * Do the injection into method
      *
      * @param object to perform inject at
-     * @param method to inject
+     * @param point  method to inject
      */
-    private void injectMember(Object object, Method method) {
+    private void injectMember(Object object, MethodInjectionPoint point) {
 
-        Object[] values = arguments(method);
+        Method method = point.getMethod();
+        if (point.getError() != null) {
+            injector.throwException("%s", point.getError());
+        }
 
-        injector.trace(() -> "Injecting method '" + method.getName() + "()' of class " + method.getDeclaringClass().getName());
-        method.setAccessible(true);
+        Object[] values = arguments(point);
+
+        if (injector.isTraceRecorded()) {
+            injector.trace(() -> "Injecting method '" + method.getName() + "()' of class " + method.getDeclaringClass().getName());
+        }
         try {
-            method.invoke(object, values);
-        } catch (Exception e) {
+            point.invoke(object, values);
+        } catch (Throwable e) {
             injector.throwException("Error injecting into method '%s()' of class '%s'"
                     , e, method.getName(), method.getDeclaringClass().getName());
         }
     }
 
     /**
-     * @param method to collect arguments for
+     * @param point method to collect arguments for
      * @return values of arguments
      */
-    private Object[] arguments(Method method) {
+    private Object[] arguments(MethodInjectionPoint point) {
 
-        Type[] parameterTypes = method.getGenericParameterTypes();
-        Class<?>[] parameterClasses = method.getParameterTypes();
-        Object[] result = new Object[parameterTypes.length];
-        Annotation[][] parameterAnnotations = method.getParameterAnnotations();
+        Method method = point.getMethod();
+        int len = point.getArgumentCount();
+        Object[] result = new Object[len];
 
-        InjectionStack stack = injector.getInjectionStack();
+        for (int i = 0; i < len; i++) {
 
-        for (int i = 0; i < parameterTypes.length; i++) {
-            Type parameterType = parameterTypes[i];
-            Annotation bindingAnnotation = getQualifier(parameterAnnotations[i], method);
-
-            int idx = i;
-            injector.trace(() -> "Get argument " + idx + " for method '" + method.getName() + "()'" +
-                    " of class '" + method.getDeclaringClass().getName() + "'");
+            if (injector.isTraceRecorded()) {
+                int idx = i;
+                injector.trace(() -> "Get argument " + idx + " for method '" + method.getName() + "()'" +
+                        " of class '" + method.getDeclaringClass().getName() + "'");
+            }
 
-            if (injector.getPredicates().isProviderType(parameterClasses[i])) {
-                parameterType = GenericTypesUtils.getGenericParameterType(parameterType);
-                if (parameterType == null) {
+            Key<?> key = point.getArgumentKey(i);
+            if (point.isProviderArgument(i)) {
+                if (key == null) {
                     injector.throwException("Parameter of method '%s.%s()' of 'Provider' type must be "
                             + "parameterized to be usable for injection"
                             , method.getDeclaringClass().getName()
                             , method.getName());
                 }
 
-                result[i] = injector.getProvider(Key.get(TypeLiteral.of(parameterType), bindingAnnotation));
+                result[i] = injector.getProviderValue(key, point.getArgumentType(i));
             } else {
-                Key<?> key = Key.get(TypeLiteral.of(parameterType), bindingAnnotation);
                 result[i] = injector.getInstanceWithCycleProtection(key, false);
             }
         }
@@ -0,0 +1,94 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.bootique.di.spi;
+
+import io.bootique.di.Key;
+
+import java.lang.reflect.Method;
+
+/**
+ * Immutable injection metadata of a single method, resolved once per concrete class.
+ *
+ * @since 4.0
+ */
+final class MethodInjectionPoint {
+
+    private final Method method;
+    private final Class<?>[] argumentTypes;
+    private final Key<?>[] argumentKeys;
+    private final boolean[] providerArguments;
+    private final String error;
+    private final MethodInvoker invoker;
+
+    MethodInjectionPoint(Method method, Key<?>[] argumentKeys, boolean[] providerArguments, String error) {
+        this.method = method;
+
+        // "getParameterTypes()" clones the array on every call, so resolve the types once
+        this.argumentTypes = method.getParameterTypes();
+        this.argumentKeys = argumentKeys;
+        this.providerArguments = providerArguments;
+        this.error = error;
+
+        try {
+            method.setAccessible(true);
+        } catch (RuntimeException e) {
+            // ignore here, will be reported on the actual injection attempt
+        }
+
+        this.invoker = MethodInvoker.of(method);
+    }
+
+    void invoke(Object object, Object[] arguments) throws Throwable {
+        invoker.invoke(object, arguments);
+    }
+
+    Method getMethod() {
+        return method;
+    }
+
+    int getArgumentCount() {
+        return argumentKeys.length;
+    }
+
+    /**
+     * Returns a key of the argument dependency. For Provider arguments this is a key of the provided object. May be
+     * null if the argument is an unparameterized Provider.
+     */
+    Key<?> getArgumentKey(int index) {
+        return argumentKeys[index];
+    }
+
+    /**
+     * Returns a raw type of the argument, e.g. Provider or Lazy for the provider arguments.
+     */
+    Class<?> getArgumentType(int index) {
+        return argumentTypes[index];
+    }
+
+    boolean isProviderArgument(int index) {
+        return providerArguments[index];
+    }
+
+    /**
+     * Returns a message describing why this method can't be injected, or null if the method is valid.
+     */
+    String getError() {
+        return error;
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.bootique.di.spi;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * A strategy for invoking injection and provider methods. The default strategy is based on a {@link MethodHandle}
+ * compiled once per method, with a reflective fallback for methods that can't be unreflected.
+ *
+ * @since 4.0
+ */
+@FunctionalInterface
+interface MethodInvoker {
+
+    /**
+     * Creates an invoker for a given method. The method is expected to be made accessible by the caller.
+     */
+    static MethodInvoker of(Method method) {
+
+        MethodHandle handle;
+        try {
+            handle = MethodHandles.lookup().unreflect(method);
+        } catch (IllegalAccessException | RuntimeException e) {
+            return reflective(method);
+        }
+
+        if (Modifier.isStatic(method.getModifiers())) {
+            // unify static methods with the instance ones by ignoring the target
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        }
+
+        MethodHandle spreader = handle
+                .asSpreader(Object[].class, method.getParameterCount())
+                .asType(MethodType.methodType(Object.class, Object.class, Object[].class));
+
+        return (target, args) -> (Object) spreader.invokeExact(target, args);
+    }
+
+    static MethodInvoker reflective(Method method) {
+        return method::invoke;
+    }
+
+    Object invoke(Object target, Object[] args) throws Throwable;
+}
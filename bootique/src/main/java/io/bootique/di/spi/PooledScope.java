@@ -0,0 +1,191 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.bootique.di.spi;
+
+import io.bootique.di.DIRuntimeException;
+import jakarta.inject.Provider;
+
+import java.lang.annotation.Annotation;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A scope that keeps a bounded pool of idle instances per binding. It is intended for objects that are too expensive
+ * to create on every injection, but can't be shared between threads as singletons. Each call to the scoped provider
+ * borrows an idle instance, creating a new one if the pool is empty. The caller must return the instance via
+ * {@link #release(Object)} once it is done with it. An instance returned to a full pool is discarded, receiving
+ * {@link io.bootique.di.BeforeScopeEnd} and {@link AfterScopeEnd} events. All the other instances receive these
+ * events on scope shutdown, which happens when the injector that uses the scope is shut down.
+ * <p>
+ * Borrowed instances are tracked via weak references, so an instance that the caller never releases doesn't leak.
+ * Once it is garbage collected, it is simply forgotten, and no events are posted for it. The same applies to the pools
+ * of the bindings that no longer use them (e.g. after the binding was decorated).
+ * <p>
+ * A scope instance belongs to the injector that uses it first, and can't be used by another injector (including the
+ * child injectors), as it is shut down together with its injector.
+ *
+ * @since 4.0
+ */
+public class PooledScope extends DefaultScope {
+
+    private final int poolSize;
+    private final Map<WeakIdentityKey, PooledScopeProvider<?>> borrowed;
+    private final Set<WeakIdentityKey> pools;
+    private final ReferenceQueue<Object> collected;
+
+    @SafeVarargs
+    public PooledScope(int poolSize, Class<? extends Annotation>... customEventTypes) {
+        super(customEventTypes);
+
+        if (poolSize < 1) {
+            throw new IllegalArgumentException("Pool size must be positive: " + poolSize);
+        }
+
+        this.poolSize = poolSize;
+        this.borrowed = new ConcurrentHashMap<>();
+        this.pools = ConcurrentHashMap.newKeySet();
+        this.collected = new ReferenceQueue<>();
+    }
+
+    /**
+     * Returns true, as pooled instances are owned by the injector that uses the scope.
+     */
+    @Override
+    public boolean isShutdownWithInjector() {
+        return true;
+    }
+
+    @Override
+    public <T> Provider<T> scope(Provider<T> unscoped) {
+        purge();
+        PooledScopeProvider<T> pool = new PooledScopeProvider<>(this, unscoped, poolSize);
+        pools.add(new WeakIdentityKey(pool, collected));
+        return pool;
+    }
+
+    /**
+     * Returns a previously borrowed instance to its pool.
+     */
+    public void release(Object instance) {
+        purge();
+        PooledScopeProvider<?> pool = borrowed.remove(new WeakIdentityKey(instance, null));
+        if (pool == null) {
+            throw new DIRuntimeException("Object is not borrowed from this scope: %s", instance);
+        }
+
+        pool.release(instance);
+    }
+
+    @Override
+    public void shutdown() {
+        super.shutdown();
+
+        for (WeakIdentityKey key : borrowed.keySet()) {
+            Object instance = key.get();
+            if (instance != null) {
+                removeScopeEventListener(instance);
+            }
+        }
+        borrowed.clear();
+    }
+
+    /**
+     * Returns the number of instances currently borrowed from the scope pools.
+     */
+    public int getBorrowedCount() {
+        purge();
+        return borrowed.size();
+    }
+
+    /**
+     * Returns the number of instances currently idle in the scope pools.
+     */
+    public int getIdleCount() {
+        int count = 0;
+        for (PooledScopeProvider<?> pool : pools()) {
+            count += pool.getIdleCount();
+        }
+        return count;
+    }
+
+    /**
+     * Returns the total number of instances created by the scope pools.
+     */
+    public long getCreatedCount() {
+        long count = 0;
+        for (PooledScopeProvider<?> pool : pools()) {
+            count += pool.getCreatedCount();
+        }
+        return count;
+    }
+
+    /**
+     * Returns the total number of instances discarded on release, because their pool was full.
+     */
+    public long getDiscardedCount() {
+        long count = 0;
+        for (PooledScopeProvider<?> pool : pools()) {
+            count += pool.getDiscardedCount();
+        }
+        return count;
+    }
+
+    int getPoolCount() {
+        return pools().size();
+    }
+
+    /**
+     * Starts tracking a borrowed instance. Returns false if the instance is already tracked, which happens when it
+     * comes from another pool of this scope (e.g. a pooled implementation of a pooled interface binding).
+     */
+    boolean borrow(Object instance, PooledScopeProvider<?> pool) {
+        purge();
+        return borrowed.putIfAbsent(new WeakIdentityKey(instance, collected), pool) == null;
+    }
+
+    private List<PooledScopeProvider<?>> pools() {
+        purge();
+
+        List<PooledScopeProvider<?>> live = new ArrayList<>(pools.size());
+        for (WeakIdentityKey key : pools) {
+            Object pool = key.get();
+            if (pool != null) {
+                live.add((PooledScopeProvider<?>) pool);
+            }
+        }
+        return live;
+    }
+
+    private void purge() {
+        Reference<?> reference;
+        while ((reference = collected.poll()) != null) {
+
+            // the queue is shared by the borrowed instances and the pools
+            WeakIdentityKey key = (WeakIdentityKey) reference;
+            if (borrowed.remove(key) == null) {
+                pools.remove(key);
+            }
+        }
+    }
+}
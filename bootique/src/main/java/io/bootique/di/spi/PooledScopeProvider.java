@@ -0,0 +1,134 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.bootique.di.spi;
+
+import io.bootique.di.BeforeScopeEnd;
+import io.bootique.di.DIRuntimeException;
+import jakarta.inject.Provider;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A provider that hands out instances from a bounded lock-free pool, creating them via the delegate provider when
+ * the pool is empty.
+ *
+ * @since 4.0
+ */
+class PooledScopeProvider<T> implements Provider<T> {
+
+    private final PooledScope scope;
+    private final Provider<T> delegate;
+    private final AtomicReferenceArray<T> idle;
+    private final LongAdder created;
+    private final LongAdder discarded;
+
+    PooledScopeProvider(PooledScope scope, Provider<T> delegate, int poolSize) {
+        this.scope = scope;
+        this.delegate = delegate;
+        this.idle = new AtomicReferenceArray<>(poolSize);
+        this.created = new LongAdder();
+        this.discarded = new LongAdder();
+
+        scope.addScopeEventListener(this);
+    }
+
+    @Override
+    public T get() {
+        T instance = takeIdle();
+        if (instance != null) {
+            scope.borrow(instance, this);
+            return instance;
+        }
+
+        instance = delegate.get();
+        if (instance == null) {
+            throw new DIRuntimeException("Underlying provider (%s) returned NULL instance"
+                    , DIUtil.getProviderName(delegate));
+        }
+
+        // only track the instances created by this pool, and not the ones borrowed from another pool down the chain
+        if (scope.borrow(instance, this)) {
+            created.increment();
+            scope.addScopeEventListener(instance);
+        }
+
+        return instance;
+    }
+
+    void release(Object instance) {
+        @SuppressWarnings("unchecked")
+        T t = (T) instance;
+
+        int len = idle.length();
+        for (int i = 0; i < len; i++) {
+            if (idle.get(i) == null && idle.compareAndSet(i, null, t)) {
+                return;
+            }
+        }
+
+        discarded.increment();
+        scope.removeScopeEventListener(instance);
+        scope.postScopeEventTo(instance, BeforeScopeEnd.class);
+        scope.postScopeEventTo(instance, AfterScopeEnd.class);
+    }
+
+    int getIdleCount() {
+        int count = 0;
+        int len = idle.length();
+        for (int i = 0; i < len; i++) {
+            if (idle.get(i) != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    long getCreatedCount() {
+        return created.sum();
+    }
+
+    long getDiscardedCount() {
+        return discarded.sum();
+    }
+
+    private T takeIdle() {
+        int len = idle.length();
+        for (int i = 0; i < len; i++) {
+            if (idle.get(i) != null) {
+                T instance = idle.getAndSet(i, null);
+                if (instance != null) {
+                    return instance;
+                }
+            }
+        }
+        return null;
+    }
+
+    @AfterScopeEnd
+    public void afterScopeEnd() {
+        int len = idle.length();
+        for (int i = 0; i < len; i++) {
+            T instance = idle.getAndSet(i, null);
+            if (instance != null) {
+                scope.removeScopeEventListener(instance);
+            }
+        }
+    }
+}
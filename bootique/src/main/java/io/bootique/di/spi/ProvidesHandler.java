@@ -20,11 +20,13 @@
 package io.bootique.di.spi;
 
 import io.bootique.di.Key;
+import io.bootique.di.Lazy;
 import io.bootique.di.Scope;
 import io.bootique.di.TypeLiteral;
 import jakarta.inject.Provider;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
@@ -61,6 +63,13 @@ class ProvidesHandler {
                     "Provider method '%s()' on module '%s' is void. To be a proper provider method, it must return a value",
                     method.getName(), module.getClass().getName());
         }
+
+        // Lazy is an injection point wrapper, and can't be used to declare a binding
+        if (Lazy.class.equals(method.getReturnType())) {
+            injector.throwException(
+                    "Provider method '%s()' on module '%s' returns Lazy. To be a proper provider method, it must return a value or a Provider",
+                    method.getName(), module.getClass().getName());
+        }
     }
 
     private <T> void createBinding(Object module, Method method) {
@@ -102,12 +111,18 @@ class ProvidesHandler {
     }
 
     private <T> Binding<T> createBinding(Key<T> key, Object module, Method method) {
-        return new Binding<>(key, createProvider(key, module, method), createScope(method), false);
+        return new Binding<>(
+                key,
+                createProvider(key, module, method),
+                createScope(method),
+                false,
+                injector.isBindingMetricsEnabled());
     }
 
     private <T> Provider<T> createProvider(Key<T> key, Object module, Method method) {
-        Provider<?>[] argumentProviders = createArgumentProviders(method);
-        Provider<T> provider = new ProvidesMethodProvider<>(injector, argumentProviders, method, module);
+        Key<?>[] argumentKeys = createArgumentKeys(method);
+        boolean[] providerArguments = createProviderArguments(method);
+        Provider<T> provider = new ProvidesMethodProvider<>(injector, argumentKeys, providerArguments, method, module);
         return injector.wrapProvider(key, provider);
     }
 
@@ -120,27 +135,32 @@ class ProvidesHandler {
         return injector.getDefaultScope();
     }
 
-    private Provider<?>[] createArgumentProviders(Method method) {
+    private Key<?>[] createArgumentKeys(Method method) {
 
         Type[] params = method.getGenericParameterTypes();
         Annotation[][] paramAnnotations = method.getParameterAnnotations();
         int len = params.length;
-        Provider<?>[] providers = new Provider[len];
+        Key<?>[] keys = new Key<?>[len];
 
         for (int i = 0; i < len; i++) {
             Annotation qualifier = extractQualifier(method, paramAnnotations[i]);
-            Key<?> key = createKey(params[i], qualifier);
-
-            if (isProviderType(params[i])) {
-                // will resolve to provider of provider
-                providers[i] = () -> injector.getProvider(key);
-            } else {
-                // resolve the actual provider lazily
-                providers[i] = () -> injector.getInstance(key);
-            }
+            keys[i] = createKey(params[i], qualifier);
+        }
+
+        return keys;
+    }
+
+    private boolean[] createProviderArguments(Method method) {
+
+        Type[] params = method.getGenericParameterTypes();
+        int len = params.length;
+        boolean[] providerArguments = new boolean[len];
+
+        for (int i = 0; i < len; i++) {
+            providerArguments[i] = isProviderType(params[i]);
         }
 
-        return providers;
+        return providerArguments;
     }
 
     /**
@@ -148,41 +168,116 @@ class ProvidesHandler {
      *
      * @param <T> provided type
      */
-    private static class ProvidesMethodProvider<T> implements NamedProvider<T> {
+    private static class ProvidesMethodProvider<T> implements NamedProvider<T>, DependencyAware {
+
+        private static final Object[] NO_ARGUMENTS = new Object[0];
+
         private final DefaultInjector injector;
-        private final Provider<?>[] argumentProviders;
+        private final Key<?>[] argumentKeys;
+        private final boolean[] providerArguments;
+        private final Class<?>[] argumentTypes;
+        private final MethodInvoker invoker;
         private final Method method;
         private final Object module;
 
-        private ProvidesMethodProvider(DefaultInjector injector, Provider<?>[] argumentProviders, Method method, Object module) {
+        // providers injected in place of the Provider and Lazy arguments, resolved on the first call, when the
+        // injector bindings are already final
+        private volatile Provider<?>[] argumentProviders;
+
+        private ProvidesMethodProvider(
+                DefaultInjector injector,
+                Key<?>[] argumentKeys,
+                boolean[] providerArguments,
+                Method method,
+                Object module) {
             this.injector = injector;
-            this.argumentProviders = argumentProviders;
+            this.argumentKeys = argumentKeys;
+            this.providerArguments = providerArguments;
+            this.argumentTypes = method.getParameterTypes();
+            this.invoker = MethodInvoker.of(method);
             this.method = method;
             this.module = module;
         }
 
         @Override
         public T get() {
-            int len = argumentProviders.length;
-            Object[] arguments = new Object[len];
+            Object[] arguments = arguments();
 
-            for (int i = 0; i < len; i++) {
-                final int idx = i;
-                injector.trace(() -> "Get argument " + idx + " for " + getName());
-                arguments[i] = argumentProviders[i].get();
+            if (injector.isTraceRecorded()) {
+                injector.trace(() -> "Invoking " + getName());
             }
-
-            injector.trace(() -> "Invoking " + getName());
             try {
                 @SuppressWarnings("unchecked")
-                T result = (T) method.invoke(module, arguments);
+                T result = (T) invoker.invoke(module, arguments);
                 return result;
-            } catch (Exception e) {
-                injector.throwException("Error invoking %s", e, getName());
+            } catch (Throwable e) {
+                Throwable cause = e instanceof InvocationTargetException ite && ite.getCause() != null
+                        ? ite.getCause()
+                        : e;
+                injector.throwException("Error invoking %s", cause, getName());
                 return null;
             }
         }
 
+        private Object[] arguments() {
+            int len = argumentKeys.length;
+            if (len == 0) {
+                return NO_ARGUMENTS;
+            }
+
+            Provider<?>[] providers = argumentProviders();
+            Object[] arguments = new Object[len];
+
+            for (int i = 0; i < len; i++) {
+                if (injector.isTraceRecorded()) {
+                    final int idx = i;
+                    injector.trace(() -> "Get argument " + idx + " for " + getName());
+                }
+
+                Provider<?> provider = providers[i];
+                if (provider == null) {
+                    arguments[i] = injector.getInstanceWithCycleProtection(argumentKeys[i], false);
+                } else {
+                    arguments[i] = DefaultInjector.providerValue(provider, argumentTypes[i]);
+                }
+            }
+
+            return arguments;
+        }
+
+        private Provider<?>[] argumentProviders() {
+            Provider<?>[] providers = argumentProviders;
+            if (providers == null) {
+                int len = argumentKeys.length;
+                providers = new Provider<?>[len];
+                for (int i = 0; i < len; i++) {
+                    if (providerArguments[i]) {
+                        providers[i] = injector.getProvider(argumentKeys[i]);
+                    }
+                }
+
+                // no locking here, a race would simply produce an identical array
+                argumentProviders = providers;
+            }
+
+            return providers;
+        }
+
+        @Override
+        public Class<?> collectDependencies(Dependencies dependencies) {
+            for (int i = 0; i < argumentKeys.length; i++) {
+                if (providerArguments[i]) {
+                    dependencies.addDeferred(argumentKeys[i]);
+                } else {
+                    dependencies.add(argumentKeys[i]);
+                }
+            }
+
+            // the type of the returned object is only known at runtime, but it doesn't matter, as no members are
+            // injected into it
+            return null;
+        }
+
         @Override
         public String getName() {
             return String.format("provider method '%s()' of module '%s'", method.getName(), module.getClass().getName());
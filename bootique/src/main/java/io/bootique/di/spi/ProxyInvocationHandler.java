@@ -22,34 +22,80 @@ package io.bootique.di.spi;
 import io.bootique.di.Key;
 
 import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * A handler of an interface proxy created to break a circular dependency. It resolves the actual instance on first
+ * use and forwards all the calls to it. Invokers of the proxied methods are compiled once per method and shared by all
+ * the proxies of the same interface.
+ */
 class ProxyInvocationHandler<T> implements InvocationHandler {
 
+    // Proxy passes the same Method objects on every call, so the lookups are cheap
+    private static final ClassValue<Map<Method, MethodInvoker>> INVOKERS = new ClassValue<>() {
+        @Override
+        protected Map<Method, MethodInvoker> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
     private final DefaultInjector injector;
     private final Key<T> key;
+    private final Map<Method, MethodInvoker> invokers;
+    private final ReentrantLock lock;
 
     private volatile T instance;
 
     ProxyInvocationHandler(DefaultInjector injector, Key<T> key) {
         this.injector = injector;
         this.key = key;
+        this.invokers = INVOKERS.get(key.getType().getRawType());
+        this.lock = new ReentrantLock();
     }
 
     @Override
     public Object invoke(Object proxy, Method method, Object... args) throws Throwable {
-        method.setAccessible(true);
-        return method.invoke(getInstance(), args);
+        MethodInvoker invoker = invokers.get(method);
+        if (invoker == null) {
+            invoker = invokers.computeIfAbsent(method, ProxyInvocationHandler::createInvoker);
+        }
+
+        try {
+            return invoker.invoke(getInstance(), args);
+        } catch (InvocationTargetException e) {
+            // only thrown by the reflective fallback invoker
+            throw e.getCause();
+        }
+    }
+
+    private static MethodInvoker createInvoker(Method method) {
+        try {
+            method.setAccessible(true);
+        } catch (RuntimeException e) {
+            // public methods of exported types can be invoked without it
+        }
+
+        return MethodInvoker.of(method);
     }
 
     T getInstance() {
         T local = instance;
-        if(local == null) {
-            synchronized (key) {
+        if (local == null) {
+
+            // a lock per handler instead of a monitor of the shared key, that would block unrelated proxies and
+            // pin virtual threads
+            lock.lock();
+            try {
                 local = instance;
-                if(local == null) {
+                if (local == null) {
                     local = instance = injector.getInstanceWithCycleProtection(key, true);
                 }
+            } finally {
+                lock.unlock();
             }
         }
         return local;
@@ -30,19 +30,18 @@ import java.lang.reflect.Method;
 public class ScopeEventBinding {
 
     private final WeakReference<Object> objectReference;
-    private final Method eventHandlerMethod;
-    private final int argWidth;
+    private final ScopeEventMethod eventMethod;
 
     public ScopeEventBinding(Object object, Method eventHandlerMethod) {
+        this(object, ScopeEventMethod.of(eventHandlerMethod));
+    }
+
+    ScopeEventBinding(Object object, ScopeEventMethod eventMethod) {
 
         // store weak references for objects to avoid retaining them when they go out of
         // scope
         this.objectReference = new WeakReference<>(object);
-        this.eventHandlerMethod = eventHandlerMethod;
-        this.argWidth = eventHandlerMethod.getParameterTypes().length;
-
-        // allow public methods of non-public classes to be annotated
-        eventHandlerMethod.setAccessible(true);
+        this.eventMethod = eventMethod;
     }
 
     public Object getObject() {
@@ -56,13 +55,14 @@ public class ScopeEventBinding {
             return false;
         }
 
+        Object[] args = invocationArguments(eventArgs);
         try {
-            eventHandlerMethod.invoke(object, invocationArguments(eventArgs));
-        } catch (Exception e) {
+            eventMethod.invoke(object, args);
+        } catch (Throwable e) {
             throw new DIRuntimeException(
                     "Error invoking event method %s",
                     e,
-                    eventHandlerMethod.getName());
+                    eventMethod.getName());
         }
 
         return true;
@@ -72,12 +72,12 @@ public class ScopeEventBinding {
 
         int eventArgWidth = (eventArgs == null) ? 0 : eventArgs.length;
 
-        if (argWidth != eventArgWidth) {
+        if (eventMethod.getArgWidth() != eventArgWidth) {
             throw new DIRuntimeException(
                     "Event argument list size (%d) is different "
                             + "from the handler method argument list size (%d)",
                     eventArgWidth,
-                    argWidth);
+                    eventMethod.getArgWidth());
         }
 
         return eventArgs;
@@ -0,0 +1,196 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.bootique.di.spi;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A registry of listeners of a single scope event type, indexed by the identity of the listener objects. Adding and
+ * removing a listener object doesn't require scanning other listeners. Registrations are additionally kept sorted by
+ * the registration order, so that the events can be dispatched without sorting. Maintaining that order makes adding
+ * and removing a listener O(log n). Listener objects are referenced weakly, and the entries of garbage collected
+ * objects are purged lazily.
+ * <p>
+ * As a collection, this object is a read-only view of the registered {@link ScopeEventBinding}s in the order of
+ * registration. It only supports adding new bindings, for compatibility with the code that used to access
+ * {@link DefaultScope#listeners} directly.
+ *
+ * @since 4.0
+ */
+public final class ScopeEventListeners extends AbstractCollection<ScopeEventBinding> {
+
+    private final Map<WeakIdentityKey, Registration> registrations;
+    private final ConcurrentSkipListMap<Long, Registration> ordered;
+    private final ReferenceQueue<Object> collected;
+    private final AtomicLong sequence;
+
+    ScopeEventListeners() {
+        this.registrations = new ConcurrentHashMap<>();
+        this.ordered = new ConcurrentSkipListMap<>();
+        this.collected = new ReferenceQueue<>();
+        this.sequence = new AtomicLong();
+    }
+
+    void add(Object object, ScopeEventBinding binding) {
+        purge();
+        registrations.compute(new WeakIdentityKey(object, collected), (k, existing) -> {
+            Registration registration = existing == null
+                    ? new Registration(k, sequence.getAndIncrement(), new ScopeEventBinding[]{binding})
+                    : existing.with(binding);
+
+            // the ordered index is only updated under the lock of the registrations entry
+            ordered.put(registration.order(), registration);
+            return registration;
+        });
+    }
+
+    /**
+     * Registers a binding for its object. Allows the code written against the 3.x "listeners" collections to keep
+     * registering bindings.
+     */
+    @Override
+    public boolean add(ScopeEventBinding binding) {
+        Object object = binding.getObject();
+        if (object == null) {
+            return false;
+        }
+
+        add(object, binding);
+        return true;
+    }
+
+    void removeListener(Object object) {
+        unregister(new WeakIdentityKey(object, null));
+    }
+
+    /**
+     * Dispatches an event to the listeners in the order of their registration. An exception thrown by any of the
+     * listeners stops further event processing and is rethrown.
+     */
+    void dispatch(Object[] eventParameters) {
+        purge();
+
+        // take a snapshot, as the listeners may add or remove other listeners while processing the event (e.g.
+        // scoped providers unregister their instances on AfterScopeEnd), and all the listeners registered at the
+        // time of the event must be notified. The values are already ordered, so no sorting is needed.
+        for (Registration registration : ordered.values().toArray(new Registration[0])) {
+            for (ScopeEventBinding binding : registration.bindings()) {
+                if (!binding.onScopeEvent(eventParameters)) {
+                    // listener object was garbage collected
+                    unregister(registration.key());
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the registration order of a listener object, or -1 if the object is not registered.
+     */
+    long order(Object object) {
+        Registration registration = registrations.get(new WeakIdentityKey(object, null));
+        return registration != null ? registration.order() : -1;
+    }
+
+    /**
+     * Dispatches an event to a single listener object and unregisters it, so that it is not notified again.
+     */
+    void dispatchAndRemove(Object object, Object[] eventParameters) {
+        Registration registration = unregister(new WeakIdentityKey(object, null));
+        if (registration != null) {
+            for (ScopeEventBinding binding : registration.bindings()) {
+                binding.onScopeEvent(eventParameters);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of event bindings registered with this object.
+     */
+    @Override
+    public int size() {
+        int size = 0;
+        for (Registration registration : ordered.values()) {
+            size += registration.bindings().length;
+        }
+        return size;
+    }
+
+    @Override
+    public Iterator<ScopeEventBinding> iterator() {
+        Iterator<Registration> it = ordered.values().iterator();
+        return new Iterator<>() {
+
+            private ScopeEventBinding[] bindings = new ScopeEventBinding[0];
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                while (next == bindings.length && it.hasNext()) {
+                    bindings = it.next().bindings();
+                    next = 0;
+                }
+                return next < bindings.length;
+            }
+
+            @Override
+            public ScopeEventBinding next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return bindings[next++];
+            }
+        };
+    }
+
+    private Registration unregister(WeakIdentityKey key) {
+        Registration[] removed = new Registration[1];
+        registrations.computeIfPresent(key, (k, registration) -> {
+            ordered.remove(registration.order());
+            removed[0] = registration;
+            return null;
+        });
+        return removed[0];
+    }
+
+    private void purge() {
+        Reference<?> reference;
+        while ((reference = collected.poll()) != null) {
+            unregister((WeakIdentityKey) reference);
+        }
+    }
+
+    private record Registration(WeakIdentityKey key, long order, ScopeEventBinding[] bindings) {
+
+        Registration with(ScopeEventBinding binding) {
+            ScopeEventBinding[] newBindings = Arrays.copyOf(bindings, bindings.length + 1);
+            newBindings[bindings.length] = binding;
+            return new Registration(key, order, newBindings);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.bootique.di.spi;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+
+/**
+ * An annotated scope event handler method of a class, with a precompiled invoker. Created once per class and event
+ * type, and shared by all the {@link ScopeEventBinding}s of the class instances.
+ *
+ * @since 4.0
+ */
+final class ScopeEventMethod {
+
+    private final String eventType;
+    private final Method method;
+    private final int argWidth;
+    private final MethodInvoker invoker;
+
+    private ScopeEventMethod(String eventType, Method method, MethodInvoker invoker) {
+        this.eventType = eventType;
+        this.method = method;
+        this.argWidth = method.getParameterCount();
+        this.invoker = invoker;
+    }
+
+    static ScopeEventMethod of(Class<? extends Annotation> eventType, Method method) {
+        return new ScopeEventMethod(eventType.getName(), method, invoker(method));
+    }
+
+    /**
+     * Creates a scope event method not tied to any event type.
+     */
+    static ScopeEventMethod of(Method method) {
+        return new ScopeEventMethod(null, method, invoker(method));
+    }
+
+    private static MethodInvoker invoker(Method method) {
+        // allow public methods of non-public classes to be annotated
+        method.setAccessible(true);
+        return MethodInvoker.of(method);
+    }
+
+    void invoke(Object object, Object[] args) throws Throwable {
+        invoker.invoke(object, args);
+    }
+
+    String getEventType() {
+        return eventType;
+    }
+
+    String getName() {
+        return method.getName();
+    }
+
+    int getArgWidth() {
+        return argWidth;
+    }
+}
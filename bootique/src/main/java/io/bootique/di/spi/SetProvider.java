@@ -23,16 +23,25 @@ import io.bootique.di.Key;
 import jakarta.inject.Provider;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.Set;
 import java.util.concurrent.ConcurrentLinkedQueue;
 
-class SetProvider<T> implements Provider<Set<T>> {
+/**
+ * A provider of a set multibinding. If all the set elements come from singletons or instances without injectable
+ * members, the elements are resolved once and cached. Subsequent calls return either the cached immutable set or its
+ * mutable copy, depending on the injector configuration.
+ */
+class SetProvider<T> implements Provider<Set<T>>, DependencyAware {
 
     private final DefaultInjector injector;
     private final Collection<Provider<? extends T>> providers;
     private final Key<Set<T>> bindingKey;
 
+    private volatile Set<T> snapshot;
+    private volatile boolean stabilityChecked;
+
     SetProvider(DefaultInjector injector, Key<Set<T>> bindingKey) {
         this.injector = injector;
         this.providers = new ConcurrentLinkedQueue<>();
@@ -41,22 +50,56 @@ class SetProvider<T> implements Provider<Set<T>> {
 
     @Override
     public Set<T> get() {
+        Set<T> snapshot = this.snapshot;
+        if (snapshot != null) {
+            return injector.isImmutableMultibindings() ? snapshot : new LinkedHashSet<>(snapshot);
+        }
+
         Set<T> set = new LinkedHashSet<>(providers.size());
         int i = 0;
         for (Provider<? extends T> provider : providers) {
             int idx = i++;
-            injector.trace(() -> "Resolving set element " + idx);
+            if (injector.isTraceRecorded()) {
+                injector.trace(() -> "Resolving set element " + idx);
+            }
             T value = provider.get();
             if (!set.add(value)) {
                 injector.throwException("Found duplicated value '%s' in set %s.", value, bindingKey);
             }
         }
 
+        if (!stabilityChecked) {
+            stabilityChecked = true;
+            if (isStable()) {
+                this.snapshot = snapshot = Collections.unmodifiableSet(set);
+                return injector.isImmutableMultibindings() ? snapshot : new LinkedHashSet<>(snapshot);
+            }
+        }
+
         return set;
     }
 
+    private boolean isStable() {
+        for (Provider<? extends T> provider : providers) {
+            if (!injector.isStableProvider(provider)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Class<?> collectDependencies(Dependencies dependencies) {
+        for (Provider<? extends T> provider : providers) {
+            dependencies.collect(provider);
+        }
+        return null;
+    }
+
     void add(Provider<? extends T> provider) {
         providers.add(provider);
+        snapshot = null;
+        stabilityChecked = false;
     }
 
 }
@@ -0,0 +1,241 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.bootique.di.spi;
+
+import io.bootique.di.BeforeScopeEnd;
+import io.bootique.di.DIRuntimeException;
+import io.bootique.di.Key;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Delivers {@link BeforeScopeEnd} events to the initialized singletons of an injector in the reverse order of their
+ * dependencies, so that an object is notified only after all the objects that depend on it. Independent branches of
+ * the dependency graph are notified concurrently on virtual threads, each listener object limited by a timeout.
+ * <p>
+ * The order is derived from the static dependency graph, restricted to the edges that agree with the order of
+ * listener registration (a dependency is always registered before the object that injected it). Objects whose
+ * dependencies can't be determined statically are notified before all the objects registered earlier. Errors are
+ * aggregated: the error of the first failed object (in the order of notification) is thrown, with the rest added
+ * as suppressed.
+ *
+ * @since 4.0
+ */
+class SingletonShutdown {
+
+    private final DefaultInjector injector;
+    private final Duration listenerTimeout;
+
+    SingletonShutdown(DefaultInjector injector, Duration listenerTimeout) {
+        this.injector = injector;
+        this.listenerTimeout = listenerTimeout;
+    }
+
+    void run(Collection<Key<?>> keys) {
+        List<Node> nodes = nodes(keys);
+        if (nodes.isEmpty()) {
+            return;
+        }
+
+        List<List<Node>> dependents = dependents(nodes);
+        List<Failure> failures = Collections.synchronizedList(new ArrayList<>());
+        List<CompletableFuture<Void>> done = new ArrayList<>(Collections.nCopies(nodes.size(), null));
+
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+
+            // dependents are always registered later than their dependencies, so iterating in the reverse order
+            // ensures that their futures are already created
+            for (int i = nodes.size() - 1; i >= 0; i--) {
+                Node node = nodes.get(i);
+                CompletableFuture<?>[] waitFor = dependents.get(i).stream()
+                        .map(n -> done.get(n.index))
+                        .toArray(CompletableFuture[]::new);
+
+                done.set(i, CompletableFuture.allOf(waitFor).thenCompose(v -> CompletableFuture
+                        .runAsync(() -> notify(node), executor)
+                        .orTimeout(listenerTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                        .handle((r, e) -> {
+                            if (e != null) {
+                                failures.add(new Failure(node, unwrap(node, e)));
+                            }
+                            return null;
+                        })));
+            }
+
+            CompletableFuture.allOf(done.toArray(new CompletableFuture<?>[0])).join();
+        } finally {
+            // not waiting for the listeners that timed out
+            executor.shutdown();
+        }
+
+        if (!failures.isEmpty()) {
+            rethrow(failures);
+        }
+    }
+
+    /**
+     * Returns initialized singletons that are listening to the {@link BeforeScopeEnd} event, in the order of their
+     * registration with the scope.
+     */
+    private List<Node> nodes(Collection<Key<?>> keys) {
+        ScopeEventListeners listeners = injector.getSingletonScope().getListeners(BeforeScopeEnd.class);
+        Map<Object, Node> byInstance = new IdentityHashMap<>();
+
+        for (Key<?> key : keys) {
+            Binding<?> binding = injector.getBinding(key);
+            if (binding == null || binding.getScope() != injector.getSingletonScope()) {
+                continue;
+            }
+
+            Object instance = binding.getInitializedInstance();
+            if (instance == null) {
+                continue;
+            }
+
+            Node node = byInstance.get(instance);
+            if (node == null) {
+                long order = listeners.order(instance);
+                if (order < 0) {
+                    continue;
+                }
+
+                byInstance.put(instance, node = new Node(instance, order));
+            }
+
+            node.keys.add(key);
+        }
+
+        List<Node> nodes = new ArrayList<>(byInstance.values());
+        nodes.sort(Comparator.comparingLong(n -> n.order));
+        for (int i = 0; i < nodes.size(); i++) {
+            nodes.get(i).index = i;
+        }
+
+        return nodes;
+    }
+
+    /**
+     * For each node, returns a list of nodes that must be notified before it.
+     */
+    private List<List<Node>> dependents(List<Node> nodes) {
+        Map<Key<?>, Node> byKey = new HashMap<>();
+        for (Node node : nodes) {
+            for (Key<?> key : node.keys) {
+                byKey.put(key, node);
+            }
+        }
+
+        List<List<Node>> dependents = new ArrayList<>(nodes.size());
+        for (int i = 0; i < nodes.size(); i++) {
+            dependents.add(new ArrayList<>());
+        }
+
+        DependencyGraph graph = new DependencyGraph(injector);
+        for (Node node : nodes) {
+
+            boolean complete = true;
+            boolean[] dependencies = new boolean[node.index];
+
+            for (Key<?> key : graph.reachable(node.keys, true)) {
+                complete &= graph.node(key).isComplete();
+
+                Node dependency = byKey.get(key);
+                if (dependency != null && dependency.index < node.index) {
+                    dependencies[dependency.index] = true;
+                }
+            }
+
+            for (int i = 0; i < node.index; i++) {
+                if (!complete || dependencies[i]) {
+                    dependents.get(i).add(node);
+                }
+            }
+        }
+
+        return dependents;
+    }
+
+    private void notify(Node node) {
+        injector.getSingletonScope()
+                .getListeners(BeforeScopeEnd.class)
+                .dispatchAndRemove(node.instance, new Object[0]);
+    }
+
+    private Throwable unwrap(Node node, Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        if (cause instanceof TimeoutException) {
+            return new DIRuntimeException("Timed out after %s ms waiting for the shutdown of %s",
+                    listenerTimeout.toMillis(), node.keys);
+        }
+        return cause;
+    }
+
+    private static void rethrow(List<Failure> failures) {
+
+        // the order of notification is the reverse order of registration
+        failures.sort(Comparator.comparingLong((Failure f) -> f.node().order).reversed());
+
+        Throwable first = failures.get(0).error();
+        for (int i = 1; i < failures.size(); i++) {
+            first.addSuppressed(failures.get(i).error());
+        }
+
+        if (first instanceof Error error) {
+            throw error;
+        }
+
+        if (first instanceof RuntimeException re) {
+            throw re;
+        }
+
+        throw new DIRuntimeException("Error during singleton shutdown", first);
+    }
+
+    private static class Node {
+
+        final Object instance;
+        final long order;
+        final List<Key<?>> keys;
+        int index;
+
+        Node(Object instance, long order) {
+            this.instance = instance;
+            this.order = order;
+            this.keys = new ArrayList<>(1);
+        }
+    }
+
+    private record Failure(Node node, Throwable error) {
+    }
+}
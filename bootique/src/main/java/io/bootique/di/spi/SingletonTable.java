@@ -0,0 +1,92 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import io.bootique.di.Key;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BooleanSupplier;
+
+/**
+ * An array-based index of already created singletons, addressed by the injector {@link KeyIds key ids}. Lets the injector
+ * return a warm singleton with a single array load, without resolving its binding, scope and provider chain.
+ *
+ * @since 4.0
+ */
+class SingletonTable {
+
+    private static final int INITIAL_SIZE = 64;
+
+    private final KeyIds keyIds;
+    private volatile AtomicReferenceArray<Object> table;
+
+    SingletonTable(KeyIds keyIds) {
+        this.keyIds = keyIds;
+        this.table = new AtomicReferenceArray<>(INITIAL_SIZE);
+    }
+
+    /**
+     * Returns a singleton for the key or null if it wasn't registered in the table.
+     */
+    @SuppressWarnings("unchecked")
+    <T> T get(Key<T> key) {
+        int id = keyIds.find(key);
+        AtomicReferenceArray<Object> table = this.table;
+        return id != KeyIds.NO_ID && id < table.length() ? (T) table.getAcquire(id) : null;
+    }
+
+    /**
+     * Registers a singleton, provided the guard confirms that it is still current. The guard is checked under the
+     * table lock, the same lock that {@link #remove(Key)} takes, so a caller that obtained the instance from a binding
+     * that was replaced or rescoped in the meantime can't bring a stale singleton back after its removal.
+     */
+    synchronized void put(Key<?> key, Object instance, BooleanSupplier guard) {
+        if (!guard.getAsBoolean()) {
+            return;
+        }
+
+        int id = keyIds.idOf(key);
+        AtomicReferenceArray<Object> table = this.table;
+
+        if (id >= table.length()) {
+            AtomicReferenceArray<Object> expanded = new AtomicReferenceArray<>(Math.max(id + 1, table.length() * 2));
+            for (int i = 0; i < table.length(); i++) {
+                expanded.setPlain(i, table.getPlain(i));
+            }
+
+            expanded.setPlain(id, instance);
+            this.table = expanded;
+        } else {
+            table.setRelease(id, instance);
+        }
+    }
+
+    synchronized void remove(Key<?> key) {
+        int id = keyIds.find(key);
+        AtomicReferenceArray<Object> table = this.table;
+        if (id != KeyIds.NO_ID && id < table.length()) {
+            table.setRelease(id, null);
+        }
+    }
+
+    synchronized void clear() {
+        this.table = new AtomicReferenceArray<>(INITIAL_SIZE);
+    }
+}
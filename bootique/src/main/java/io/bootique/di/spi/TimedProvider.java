@@ -0,0 +1,99 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import jakarta.inject.Provider;
+
+/**
+ * A provider that measures the time of object construction by the underlying provider and passes it to a
+ * {@link BindingMetricsRecorder}. The time spent in the nested timed providers (i.e. creating the dependencies) is
+ * subtracted, so that each binding is only charged for its own work.
+ *
+ * @since 4.0
+ */
+class TimedProvider<T> implements NamedProvider<T>, DependencyAware {
+
+    // per-thread stack of the dependency times of the timed providers in progress
+    private static final ThreadLocal<TimerStack> STACKS = ThreadLocal.withInitial(TimerStack::new);
+
+    private final Provider<T> delegate;
+    private final BindingMetricsRecorder recorder;
+
+    TimedProvider(Provider<T> delegate, BindingMetricsRecorder recorder) {
+        this.delegate = delegate;
+        this.recorder = recorder;
+    }
+
+    @Override
+    public T get() {
+        TimerStack stack = STACKS.get();
+        int depth = stack.push();
+        long start = System.nanoTime();
+
+        try {
+            return delegate.get();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            long exclusive = elapsed - stack.pop(depth, elapsed);
+            recorder.record(Math.max(exclusive, 0L));
+        }
+    }
+
+    @Override
+    public String getName() {
+        return DIUtil.getProviderName(delegate);
+    }
+
+    @Override
+    public Class<?> collectDependencies(Dependencies dependencies) {
+        return dependencies.collect(delegate);
+    }
+
+    private static class TimerStack {
+
+        private long[] nestedNanos = new long[16];
+        private int depth = -1;
+
+        int push() {
+            int depth = ++this.depth;
+            if (depth == nestedNanos.length) {
+                long[] expanded = new long[depth * 2];
+                System.arraycopy(nestedNanos, 0, expanded, 0, depth);
+                nestedNanos = expanded;
+            }
+
+            nestedNanos[depth] = 0L;
+            return depth;
+        }
+
+        /**
+         * Removes the top entry, charging its time to the parent entry. Returns the time spent in nested providers.
+         */
+        long pop(int depth, long elapsed) {
+            long nested = nestedNanos[depth];
+            this.depth = depth - 1;
+            if (depth > 0) {
+                nestedNanos[depth - 1] += elapsed;
+            }
+
+            return nested;
+        }
+    }
+}
@@ -29,7 +29,7 @@ import java.util.Objects;
  *
  * @param <T> type of provided object
  */
-class TraceableProvider<T> implements Provider<T> {
+class TraceableProvider<T> implements Provider<T>, DependencyAware {
 
     private final Key<T> key;
     private final Provider<T> delegate;
@@ -58,6 +58,11 @@ class TraceableProvider<T> implements Provider<T> {
         return result;
     }
 
+    @Override
+    public Class<?> collectDependencies(Dependencies dependencies) {
+        return dependencies.collect(delegate);
+    }
+
     @SuppressWarnings("unchecked")
     <P extends Provider<T>> P unwrap() {
         return (P)delegate;
@@ -0,0 +1,116 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.bootique.di.spi;
+
+import jakarta.inject.Provider;
+
+import java.lang.annotation.Annotation;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+
+/**
+ * A singleton-like scope whose instances expire after a fixed time-to-live. The first access to an expired
+ * instance starts building its replacement in the background and keeps returning the expired instance until the
+ * replacement is ready. A fully built replacement is swapped in atomically, so callers never block on rebuilding and
+ * never see a partially built object.
+ * <p>
+ * A replaced instance receives {@link io.bootique.di.BeforeScopeEnd} and {@link AfterScopeEnd} events. As the callers
+ * that obtained the instance before the replacement may still be using it, the events can be delayed by a grace
+ * period. With no grace period (the default), the events are sent as soon as the replacement is swapped in, so
+ * the objects that hold resources (e.g. connections) may be closed while still in use. Instances that are not
+ * replaced, or are still waiting for the end of their grace period, receive these events on scope shutdown, which
+ * happens when the injector that uses the scope is shut down. Hence, a scope instance can't be shared between
+ * injectors (including the child injectors).
+ * <p>
+ * A failed refresh is rethrown to the next caller of the binding, and the expired instance is kept for another TTL
+ * period.
+ * <p>
+ * Only the very first instance of a binding is created in the calling thread, as there's nothing to return until
+ * it is built.
+ *
+ * @since 4.0
+ */
+public class TtlScope extends DefaultScope {
+
+    private final long ttlNanos;
+    private final long gracePeriodNanos;
+    private final Executor refreshExecutor;
+
+    /**
+     * Creates a scope that rebuilds expired instances on virtual threads.
+     */
+    @SafeVarargs
+    public TtlScope(Duration ttl, Class<? extends Annotation>... customEventTypes) {
+        this(ttl, r -> Thread.ofVirtual().name("bootique-ttl-refresh").start(r), customEventTypes);
+    }
+
+    @SafeVarargs
+    public TtlScope(Duration ttl, Executor refreshExecutor, Class<? extends Annotation>... customEventTypes) {
+        this(ttl, Duration.ZERO, refreshExecutor, customEventTypes);
+    }
+
+    /**
+     * Creates a scope that rebuilds expired instances on virtual threads, and ends the replaced instances after a
+     * grace period.
+     */
+    @SafeVarargs
+    public TtlScope(Duration ttl, Duration gracePeriod, Class<? extends Annotation>... customEventTypes) {
+        this(ttl, gracePeriod, r -> Thread.ofVirtual().name("bootique-ttl-refresh").start(r), customEventTypes);
+    }
+
+    /**
+     * Creates a scope that rebuilds expired instances via the provided executor, and ends the replaced instances
+     * after a grace period. Retirement of the replaced instances is also done via the executor.
+     */
+    @SafeVarargs
+    public TtlScope(
+            Duration ttl,
+            Duration gracePeriod,
+            Executor refreshExecutor,
+            Class<? extends Annotation>... customEventTypes) {
+
+        super(customEventTypes);
+
+        if (ttl.isNegative()) {
+            throw new IllegalArgumentException("Negative TTL: " + ttl);
+        }
+
+        if (gracePeriod.isNegative()) {
+            throw new IllegalArgumentException("Negative grace period: " + gracePeriod);
+        }
+
+        this.ttlNanos = ttl.toNanos();
+        this.gracePeriodNanos = gracePeriod.toNanos();
+        this.refreshExecutor = Objects.requireNonNull(refreshExecutor);
+    }
+
+    /**
+     * Returns true, as expiring instances are owned by the injector that uses the scope.
+     */
+    @Override
+    public boolean isShutdownWithInjector() {
+        return true;
+    }
+
+    @Override
+    public <T> Provider<T> scope(Provider<T> unscoped) {
+        return new TtlScopeProvider<>(this, unscoped, ttlNanos, gracePeriodNanos, refreshExecutor);
+    }
+}
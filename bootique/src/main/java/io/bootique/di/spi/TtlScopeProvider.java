@@ -0,0 +1,224 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.bootique.di.spi;
+
+import io.bootique.di.BeforeScopeEnd;
+import io.bootique.di.DIRuntimeException;
+import jakarta.inject.Provider;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A provider that caches an instance for a fixed time and rebuilds it in the background when it expires.
+ *
+ * @since 4.0
+ */
+class TtlScopeProvider<T> implements Provider<T> {
+
+    private final TtlScope scope;
+    private final Provider<T> delegate;
+    private final long ttlNanos;
+    private final long gracePeriodNanos;
+    private final Executor refreshExecutor;
+
+    private final AtomicReference<Entry<T>> entry;
+    private final AtomicBoolean refreshing;
+
+    // a failure of the background refresh, waiting to be reported to the next caller
+    private final AtomicReference<RuntimeException> refreshFailure;
+    private final ReentrantLock createLock;
+
+    // replaced instances waiting for the end of their grace period
+    private final Set<Retiring<T>> retiring;
+
+    TtlScopeProvider(TtlScope scope, Provider<T> delegate, long ttlNanos, long gracePeriodNanos, Executor refreshExecutor) {
+        this.scope = scope;
+        this.delegate = delegate;
+        this.ttlNanos = ttlNanos;
+        this.gracePeriodNanos = gracePeriodNanos;
+        this.refreshExecutor = refreshExecutor;
+        this.entry = new AtomicReference<>();
+        this.refreshing = new AtomicBoolean();
+        this.refreshFailure = new AtomicReference<>();
+        this.createLock = new ReentrantLock();
+        this.retiring = ConcurrentHashMap.newKeySet();
+
+        scope.addScopeEventListener(this);
+    }
+
+    @Override
+    public T get() {
+        if (refreshFailure.get() != null) {
+            rethrowRefreshFailure();
+        }
+
+        Entry<T> current = entry.get();
+        if (current == null) {
+            return createFirst();
+        }
+
+        if (System.nanoTime() - current.expiresAt >= 0 && refreshing.compareAndSet(false, true)) {
+            scheduleRefresh(current);
+        }
+
+        return current.instance;
+    }
+
+    private void scheduleRefresh(Entry<T> expired) {
+        try {
+            refreshExecutor.execute(() -> refresh(expired));
+        } catch (RuntimeException e) {
+
+            // the refresh will never run to reset the flag, so reset it here to retry on the next call
+            refreshing.set(false);
+            throw new DIRuntimeException("Error scheduling refresh of an expired instance of %s"
+                    , e
+                    , DIUtil.getProviderName(delegate));
+        }
+    }
+
+    private void rethrowRefreshFailure() {
+        RuntimeException failure = refreshFailure.getAndSet(null);
+        if (failure != null) {
+            throw new DIRuntimeException("Error refreshing an expired instance of %s"
+                    , failure
+                    , DIUtil.getProviderName(delegate));
+        }
+    }
+
+    private T createFirst() {
+        createLock.lock();
+        try {
+            Entry<T> current = entry.get();
+            if (current == null) {
+                current = new Entry<>(create(), System.nanoTime() + ttlNanos);
+                entry.set(current);
+            }
+
+            return current.instance;
+        } finally {
+            createLock.unlock();
+        }
+    }
+
+    private void refresh(Entry<T> expired) {
+        try {
+            Entry<T> fresh = new Entry<>(create(), System.nanoTime() + ttlNanos);
+
+            // the entry may have been reset by the scope shutdown while we were building the new instance
+            if (entry.compareAndSet(expired, fresh)) {
+                retire(expired.instance);
+            } else {
+                end(fresh.instance);
+            }
+        } catch (RuntimeException e) {
+
+            // this runs on the refresh executor, so there's no caller to rethrow to. Report it to the next one
+            refreshFailure.set(e);
+
+            // keep the expired instance for another TTL period, instead of retrying on every call
+            entry.compareAndSet(expired, new Entry<>(expired.instance, System.nanoTime() + ttlNanos));
+        } finally {
+            refreshing.set(false);
+        }
+    }
+
+    private T create() {
+        T instance = delegate.get();
+        if (instance == null) {
+            throw new DIRuntimeException("Underlying provider (%s) returned NULL instance"
+                    , DIUtil.getProviderName(delegate));
+        }
+
+        scope.addScopeEventListener(instance);
+        return instance;
+    }
+
+    /**
+     * Ends a replaced instance, either right away or after the grace period, as the callers that obtained it before
+     * the replacement may still be using it.
+     */
+    private void retire(T instance) {
+        if (gracePeriodNanos <= 0) {
+            end(instance);
+            return;
+        }
+
+        Retiring<T> r = new Retiring<>(instance);
+        retiring.add(r);
+        CompletableFuture.delayedExecutor(gracePeriodNanos, TimeUnit.NANOSECONDS, refreshExecutor).execute(() -> {
+
+            // the instance may have been ended by the scope shutdown already
+            if (retiring.remove(r)) {
+                end(r.instance);
+            }
+        });
+    }
+
+    private void end(T instance) {
+        scope.removeScopeEventListener(instance);
+        scope.postScopeEventTo(instance, BeforeScopeEnd.class);
+        scope.postScopeEventTo(instance, AfterScopeEnd.class);
+    }
+
+    @AfterScopeEnd
+    public void afterScopeEnd() {
+        Entry<T> current = entry.getAndSet(null);
+        if (current != null) {
+            scope.removeScopeEventListener(current.instance);
+        }
+
+        // retiring instances are still registered with the scope, so they have just received the shutdown events
+        for (Retiring<T> r : retiring) {
+            if (retiring.remove(r)) {
+                scope.removeScopeEventListener(r.instance);
+            }
+        }
+    }
+
+    /**
+     * A replaced instance waiting to be ended. Compared by identity, as the instances may have custom "equals".
+     */
+    private static final class Retiring<T> {
+
+        final T instance;
+
+        Retiring(T instance) {
+            this.instance = instance;
+        }
+    }
+
+    private static final class Entry<T> {
+
+        final T instance;
+        final long expiresAt;
+
+        Entry(T instance, long expiresAt) {
+            this.instance = instance;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+
+/**
+ * A weak reference usable as a hash map key, that is compared by the identity of the referenced object. A cleared
+ * key is only equal to itself, so that it can still be removed from the map once its referent is garbage collected.
+ *
+ * @since 4.0
+ */
+final class WeakIdentityKey extends WeakReference<Object> {
+
+    private final int hash;
+
+    WeakIdentityKey(Object object, ReferenceQueue<Object> queue) {
+        super(object, queue);
+        this.hash = System.identityHashCode(object);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (!(o instanceof WeakIdentityKey key)) {
+            return false;
+        }
+
+        Object object = get();
+        return object != null && object == key.get();
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
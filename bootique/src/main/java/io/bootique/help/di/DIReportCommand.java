@@ -0,0 +1,163 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.help.di;
+
+import io.bootique.cli.Cli;
+import io.bootique.command.CommandOutcome;
+import io.bootique.command.CommandWithMetadata;
+import io.bootique.di.BindingMetrics;
+import io.bootique.di.Injector;
+import io.bootique.log.BootLogger;
+import io.bootique.meta.application.CommandMetadata;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A diagnostic command that prints the DI bindings that took the most time to instantiate, and the non-singleton
+ * bindings that created suspiciously many objects. The command and the binding metrics collection are enabled when
+ * the app is started with this command, or with the {@link #METRICS_PROPERTY} system property.
+ *
+ * @since 4.0
+ */
+public class DIReportCommand extends CommandWithMetadata {
+
+    public static final String NAME = "bq-di-report";
+
+    /**
+     * A system property that enables binding metrics collection regardless of the command being run.
+     */
+    public static final String METRICS_PROPERTY = "bq.di.metrics";
+
+    static final int DEFAULT_TOP = 10;
+
+    // non-singleton bindings that created at least this many objects are reported as a possible scoping mistake
+    static final int FREQUENT_THRESHOLD = 10;
+
+    private static final String HEADER = String.format(Locale.ROOT, "%12s %12s %8s %-10s %-16s %s%n",
+            "TOTAL MS", "MAX MS", "COUNT", "SCOPE", "THREAD", "KEY");
+
+    private final BootLogger bootLogger;
+    private final Injector injector;
+
+    public DIReportCommand(BootLogger bootLogger, Injector injector) {
+        super(CommandMetadata
+                .builder(NAME)
+                .description("Prints the slowest DI bindings instantiated so far, and the unscoped bindings that were "
+                        + "instantiated too many times. Optionally, you can provide the number of bindings to print.")
+                .valueOptional("top")
+                .build());
+
+        this.bootLogger = bootLogger;
+        this.injector = injector;
+    }
+
+    /**
+     * Returns whether the app arguments or the system properties request the binding metrics collection.
+     */
+    public static boolean isMetricsRequested(String[] args) {
+        if (System.getProperty(METRICS_PROPERTY) != null) {
+            return true;
+        }
+
+        String option = "--" + NAME;
+        for (String arg : args) {
+            if (arg.equals(option) || arg.startsWith(option + "=")) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public CommandOutcome run(Cli cli) {
+
+        int top;
+        try {
+            top = topArgument(cli);
+        } catch (NumberFormatException e) {
+            return CommandOutcome.failed(1, "Invalid number of bindings: " + e.getMessage());
+        }
+
+        if (top <= 0) {
+            return CommandOutcome.failed(1, "Invalid number of bindings: " + top + ". Must be a positive number");
+        }
+
+        bootLogger.stdout(report(injector.getBindingMetrics(), top));
+        return CommandOutcome.succeeded();
+    }
+
+    private int topArgument(Cli cli) {
+        String top = cli.optionString(getMetadata().getName());
+        return top != null ? Integer.parseInt(top) : DEFAULT_TOP;
+    }
+
+    static String report(Collection<BindingMetrics> metrics, int top) {
+
+        StringBuilder out = new StringBuilder();
+        if (metrics.isEmpty()) {
+            out.append("No DI binding metrics were collected. Start the app with the '--")
+                    .append(NAME)
+                    .append("' command or the '-D")
+                    .append(METRICS_PROPERTY)
+                    .append("' property.");
+            return out.toString();
+        }
+
+        out.append("Slowest DI bindings (construction time exclusive of dependencies):\n");
+        out.append(HEADER);
+        metrics.stream()
+                .sorted(Comparator.comparing(BindingMetrics::getTotalTime).reversed())
+                .limit(top)
+                .forEach(m -> appendRow(out, m));
+
+        List<BindingMetrics> frequent = metrics.stream()
+                .filter(m -> !m.isSingleton() && m.getCount() >= FREQUENT_THRESHOLD)
+                .sorted(Comparator.comparingLong(BindingMetrics::getCount).reversed())
+                .limit(top)
+                .toList();
+
+        if (!frequent.isEmpty()) {
+            out.append("\nNon-singleton DI bindings instantiated ").append(FREQUENT_THRESHOLD).append(" or more times:\n");
+            out.append(HEADER);
+            frequent.forEach(m -> appendRow(out, m));
+        }
+
+        return out.toString();
+    }
+
+    private static void appendRow(StringBuilder out, BindingMetrics m) {
+        out.append(String.format(Locale.ROOT, "%12.3f %12.3f %8d %-10s %-16s %s%n",
+                millis(m.getTotalTime()),
+                millis(m.getMaxTime()),
+                m.getCount(),
+                m.isSingleton() ? "singleton" : "other",
+                m.getLastThread(),
+                m.getKey()));
+    }
+
+    private static double millis(Duration duration) {
+        return duration.toNanos() / 1_000_000.;
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Execution of a command, either the main command of the app, or one of the auxiliary commands run before or
+ * alongside the main command.
+ *
+ * @since 4.0
+ */
+@Name("io.bootique.Command")
+@Label("Command")
+@Description("Execution of the main command or an auxiliary command")
+@Category({"Bootique", "Command"})
+@Enabled(false)
+@StackTrace(false)
+public final class CommandEvent extends Event {
+
+    @Label("Command")
+    private String command;
+
+    @Label("Main Command")
+    private boolean main;
+
+    @Label("Success")
+    private boolean success;
+
+    public void setCommand(String command) {
+        this.command = command;
+    }
+
+    public void setMain(boolean main) {
+        this.main = main;
+    }
+
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Creation of a DI injector, including the modules configuration and the early setup of singletons.
+ *
+ * @since 4.0
+ */
+@Name("io.bootique.InjectorCreate")
+@Label("Injector Creation")
+@Description("Creation of a DI injector, including modules configuration and early setup of singletons")
+@Category({"Bootique", "DI"})
+@Enabled(false)
+@StackTrace(false)
+public final class InjectorCreateEvent extends Event {
+
+    @Label("Modules")
+    private int modules;
+
+    @Label("Bindings")
+    private int bindings;
+
+    @Label("Child Injector")
+    private boolean child;
+
+    @Label("Success")
+    private boolean success;
+
+    public void setModules(int modules) {
+        this.modules = modules;
+    }
+
+    public void setBindings(int bindings) {
+        this.bindings = bindings;
+    }
+
+    public void setChild(boolean child) {
+        this.child = child;
+    }
+
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+}
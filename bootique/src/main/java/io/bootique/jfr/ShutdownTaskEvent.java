@@ -0,0 +1,56 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Execution of a single shutdown task registered with the shutdown manager.
+ *
+ * @since 4.0
+ */
+@Name("io.bootique.ShutdownTask")
+@Label("Shutdown Task")
+@Description("Execution of a shutdown task registered with the shutdown manager")
+@Category({"Bootique", "Shutdown"})
+@Enabled(false)
+@StackTrace(false)
+public final class ShutdownTaskEvent extends Event {
+
+    @Label("Object Type")
+    private String objectType;
+
+    @Label("Success")
+    private boolean success;
+
+    public void setObjectType(String objectType) {
+        this.objectType = objectType;
+    }
+
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+}
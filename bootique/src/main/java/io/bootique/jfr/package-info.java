@@ -0,0 +1,28 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+/**
+ * JDK Flight Recorder events emitted by the Bootique runtime. All the events are disabled by default, and must be
+ * enabled explicitly in a recording configuration, e.g. via {@code recording.enable("io.bootique.Command")} or a
+ * custom .jfc file. When disabled or when no recording is running, emitting an event costs nothing beyond the event
+ * object, that the JIT normally eliminates.
+ *
+ * @since 4.0
+ */
+package io.bootique.jfr;
@@ -32,10 +32,11 @@ import joptsimple.*;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
 
 public class JoptCliFactory implements CliFactory {
 
-    private final Object optionParserLock;
+    private final ReentrantLock optionParserLock;
     private final Provider<CommandManager> commandManagerProvider;
     private final ApplicationMetadata application;
 
@@ -50,7 +51,7 @@ public class JoptCliFactory implements CliFactory {
 
         this.commandManagerProvider = commandManagerProvider;
         this.application = application;
-        this.optionParserLock = new Object();
+        this.optionParserLock = new ReentrantLock();
     }
 
     @Override
@@ -74,10 +75,13 @@ public class JoptCliFactory implements CliFactory {
 
     private OptionParser getParser() {
         if (optionParser == null) {
-            synchronized (optionParserLock) {
+            optionParserLock.lock();
+            try {
                 if (optionParser == null) {
                     optionParser = createParser();
                 }
+            } finally {
+                optionParserLock.unlock();
             }
         }
         return optionParser;
@@ -25,6 +25,7 @@ import io.bootique.command.CommandManager;
 import io.bootique.command.CommandOutcome;
 import io.bootique.command.ExecutionPlanBuilder;
 import io.bootique.command.ManagedCommand;
+import io.bootique.jfr.CommandEvent;
 
 public class DefaultRunner implements Runner {
 
@@ -40,7 +41,24 @@ public class DefaultRunner implements Runner {
 
     @Override
     public CommandOutcome run() {
-        return getCommand().run(cli);
+        Command command = getCommand();
+
+        CommandEvent event = new CommandEvent();
+        event.begin();
+
+        boolean success = false;
+        try {
+            CommandOutcome outcome = command.run(cli);
+            success = outcome.isSuccess();
+            return outcome;
+        } finally {
+            if (event.shouldCommit()) {
+                event.setCommand(command.getMetadata().getName());
+                event.setMain(true);
+                event.setSuccess(success);
+                event.commit();
+            }
+        }
     }
 
     private Command getCommand() {
@@ -19,6 +19,7 @@
 
 package io.bootique.shutdown;
 
+import io.bootique.jfr.ShutdownTaskEvent;
 import io.bootique.log.BootLogger;
 
 import java.time.Duration;
@@ -96,12 +97,24 @@ public class DefaultShutdownManager implements ShutdownManager {
         }
 
         Optional<Exception> shutdown(BootLogger logger) {
+            ShutdownTaskEvent event = new ShutdownTaskEvent();
+            event.begin();
+
+            Optional<Exception> result;
             try {
                 shutdownWithExceptions(logger);
-                return Optional.empty();
+                result = Optional.empty();
             } catch (Exception e) {
-                return Optional.of(e);
+                result = Optional.of(e);
+            }
+
+            if (event.shouldCommit()) {
+                event.setObjectType(object.getClass().getName());
+                event.setSuccess(result.isEmpty());
+                event.commit();
             }
+
+            return result;
         }
 
         private void shutdownWithExceptions(BootLogger logger) throws Exception {
@@ -0,0 +1,348 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.trace;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Records nested, timestamped spans of the Bootique startup phases and writes them as a Chrome trace event JSON file.
+ * Spans are recorded per thread, so that the phases running in parallel (e.g. parallel early setup) appear on
+ * separate timelines. Only one tracer can be active in a JVM at any given time. When no tracer is active, opening a
+ * span returns a shared no-op object and costs nothing but a volatile read. Recording stops when the startup is
+ * {@link #finishStartup() finished} or when the maximum number of spans is reached, so that a long-running app does not
+ * accumulate spans after it has started.
+ *
+ * @since 4.0
+ */
+public final class StartupTracer implements AutoCloseable {
+
+    /**
+     * A system property that enables startup tracing. Its value is a path of the file to write the trace to.
+     */
+    public static final String TRACE_PROPERTY = "bq.trace.startup";
+
+    /**
+     * A system property to override the maximum number of spans recorded by a tracer. Spans opened after the limit is
+     * reached are ignored.
+     */
+    public static final String MAX_SPANS_PROPERTY = "bq.trace.startup.maxSpans";
+
+    static final int DEFAULT_MAX_SPANS = 100_000;
+
+    private static final Span NOOP_SPAN = () -> {
+    };
+
+    private static volatile StartupTracer active;
+
+    private final Path file;
+    private final int maxSpans;
+    private final long startNanos;
+    private final AtomicInteger spans;
+    private final Queue<SpanEvent> events;
+    private final Map<Long, String> threadNames;
+
+    private StartupTracer(Path file, int maxSpans) {
+        this.file = file;
+        this.maxSpans = maxSpans;
+        this.startNanos = System.nanoTime();
+        this.spans = new AtomicInteger();
+        this.events = new ConcurrentLinkedQueue<>();
+        this.threadNames = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Starts a new tracer if the {@link #TRACE_PROPERTY} is set and no other tracer is currently active.
+     *
+     * @return a started tracer or null if tracing is not enabled or another tracer is already active.
+     */
+    public static StartupTracer startIfEnabled() {
+        String path = System.getProperty(TRACE_PROPERTY);
+        return path != null && !path.isEmpty()
+                ? start(Path.of(path), Integer.getInteger(MAX_SPANS_PROPERTY, DEFAULT_MAX_SPANS))
+                : null;
+    }
+
+    /**
+     * Starts a new tracer writing to the provided file, unless another tracer is already active.
+     *
+     * @return a started tracer or null if another tracer is already active.
+     */
+    public static StartupTracer start(Path file) {
+        return start(file, DEFAULT_MAX_SPANS);
+    }
+
+    /**
+     * Starts a new tracer writing to the provided file and recording no more than "maxSpans" spans, unless another
+     * tracer is already active.
+     *
+     * @return a started tracer or null if another tracer is already active.
+     */
+    public static StartupTracer start(Path file, int maxSpans) {
+        if (maxSpans <= 0) {
+            throw new IllegalArgumentException("Invalid max spans: " + maxSpans + ". Must be a positive number");
+        }
+
+        synchronized (StartupTracer.class) {
+            if (active != null) {
+                return null;
+            }
+
+            StartupTracer tracer = new StartupTracer(file, maxSpans);
+            active = tracer;
+            return tracer;
+        }
+    }
+
+    /**
+     * Opens a span with the provided name in the current thread. The span must be closed in the same thread,
+     * normally via a "try-with-resources" block.
+     */
+    public static Span span(String name) {
+        StartupTracer tracer = active;
+        return tracer != null ? tracer.open(name, null) : NOOP_SPAN;
+    }
+
+    /**
+     * Opens a span named after the phase and the type of the object it operates on (e.g. a module). The name string
+     * is only built when tracing is active.
+     */
+    public static Span span(String name, Object subject) {
+        StartupTracer tracer = active;
+        if (tracer == null) {
+            return NOOP_SPAN;
+        }
+
+        // anonymous classes have no simple name
+        Class<?> type = subject.getClass();
+        String label = type.getSimpleName().isEmpty() ? type.getName() : type.getSimpleName();
+        return tracer.open(name + " " + label, type.getName());
+    }
+
+    /**
+     * Opens a span whose name is only built when tracing is active. Useful when the name includes a potentially
+     * expensive "toString()" of some object.
+     */
+    public static Span span(Supplier<String> name) {
+        StartupTracer tracer = active;
+        return tracer != null ? tracer.open(name.get(), null) : NOOP_SPAN;
+    }
+
+    /**
+     * Runs the action within a span with the provided name.
+     */
+    public static void run(String name, Runnable action) {
+        Span span = span(name);
+        try {
+            action.run();
+        } finally {
+            span.close();
+        }
+    }
+
+    /**
+     * Runs the action within a span named after the phase and the type of the object it operates on.
+     */
+    public static void run(String name, Object subject, Runnable action) {
+        Span span = span(name, subject);
+        try {
+            action.run();
+        } finally {
+            span.close();
+        }
+    }
+
+    /**
+     * Runs the action within a span, whose name is only built when tracing is active.
+     */
+    public static void run(Supplier<String> name, Runnable action) {
+        Span span = span(name);
+        try {
+            action.run();
+        } finally {
+            span.close();
+        }
+    }
+
+    /**
+     * Calls the action within a span with the provided name, returning the action result.
+     */
+    public static <T> T call(String name, Supplier<T> action) {
+        Span span = span(name);
+        try {
+            return action.get();
+        } finally {
+            span.close();
+        }
+    }
+
+    /**
+     * Calls the action within a span named after the phase and the type of the object it operates on, returning the
+     * action result.
+     */
+    public static <T> T call(String name, Object subject, Supplier<T> action) {
+        Span span = span(name, subject);
+        try {
+            return action.get();
+        } finally {
+            span.close();
+        }
+    }
+
+    /**
+     * Stops the active tracer, if any, and writes its trace file. Called once the app startup is over (i.e. the main
+     * command has started), so that the spans of the later app activity are not recorded.
+     */
+    public static void finishStartup() {
+        StartupTracer tracer = active;
+        if (tracer != null) {
+            tracer.close();
+        }
+    }
+
+    /**
+     * Returns whether any tracer is currently recording spans.
+     */
+    public static boolean isActive() {
+        return active != null;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Stops recording and writes the trace file. Subsequent calls are ignored.
+     */
+    @Override
+    public void close() {
+        synchronized (StartupTracer.class) {
+            if (active != this) {
+                return;
+            }
+
+            active = null;
+        }
+
+        try {
+            write();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error writing startup trace to " + file, e);
+        }
+    }
+
+    private Span open(String name, String type) {
+
+        // a safeguard against the unbounded growth of the event queue, if the startup is never marked as finished
+        if (spans.get() >= maxSpans || spans.incrementAndGet() > maxSpans) {
+            return NOOP_SPAN;
+        }
+
+        Thread thread = Thread.currentThread();
+        long tid = thread.threadId();
+        threadNames.computeIfAbsent(tid, t -> threadName(thread));
+
+        long start = System.nanoTime();
+        return () -> events.add(new SpanEvent(name, type, tid, start - startNanos, System.nanoTime() - start));
+    }
+
+    private static String threadName(Thread thread) {
+        String name = thread.getName();
+        return name.isEmpty() ? (thread.isVirtual() ? "virtual-" : "thread-") + thread.threadId() : name;
+    }
+
+    private void write() throws IOException {
+
+        long pid = ProcessHandle.current().pid();
+
+        // sort by start time, so that the file is readable by humans too
+        List<SpanEvent> sorted = new ArrayList<>(events);
+        sorted.sort((e1, e2) -> Long.compare(e1.startNanos(), e2.startNanos()));
+
+        try (JsonGenerator out = new JsonFactory().createGenerator(file.toFile(), JsonEncoding.UTF8)) {
+            out.writeStartObject();
+            out.writeStringField("displayTimeUnit", "ms");
+            out.writeArrayFieldStart("traceEvents");
+
+            for (Map.Entry<Long, String> e : new LinkedHashMap<>(threadNames).entrySet()) {
+                out.writeStartObject();
+                out.writeStringField("name", "thread_name");
+                out.writeStringField("ph", "M");
+                out.writeNumberField("pid", pid);
+                out.writeNumberField("tid", e.getKey());
+                out.writeObjectFieldStart("args");
+                out.writeStringField("name", e.getValue());
+                out.writeEndObject();
+                out.writeEndObject();
+            }
+
+            for (SpanEvent e : sorted) {
+                out.writeStartObject();
+                out.writeStringField("name", e.name());
+                out.writeStringField("cat", "bootique");
+                out.writeStringField("ph", "X");
+
+                // Chrome trace timestamps are in microseconds, but allow fractions
+                out.writeNumberField("ts", e.startNanos() / 1000.);
+                out.writeNumberField("dur", e.durationNanos() / 1000.);
+                out.writeNumberField("pid", pid);
+                out.writeNumberField("tid", e.tid());
+
+                if (e.type() != null) {
+                    out.writeObjectFieldStart("args");
+                    out.writeStringField("type", e.type());
+                    out.writeEndObject();
+                }
+
+                out.writeEndObject();
+            }
+
+            out.writeEndArray();
+            out.writeEndObject();
+        }
+    }
+
+    /**
+     * A span of a startup phase, that ends when closed.
+     */
+    @FunctionalInterface
+    public interface Span extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+
+    private record SpanEvent(String name, String type, long tid, long startNanos, long durationNanos) {
+    }
+}
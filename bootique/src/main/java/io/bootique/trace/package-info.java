@@ -0,0 +1,27 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+/**
+ * Startup tracing. When the "bq.trace.startup" system property is set to a file path, Bootique records nested,
+ * timestamped spans for the phases of the runtime startup, and writes them to that file in the Chrome trace event
+ * format, that can be opened in "chrome://tracing" or in Perfetto UI.
+ *
+ * @since 4.0
+ */
+package io.bootique.trace;
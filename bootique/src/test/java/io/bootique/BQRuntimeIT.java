@@ -19,10 +19,14 @@
 
 package io.bootique;
 
+import io.bootique.di.Key;
+import io.bootique.env.Environment;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class BQRuntimeIT {
 
@@ -53,4 +57,20 @@ public class BQRuntimeIT {
         BQRuntime rt = Bootique.app().createRuntime();
         assertNotNull(rt.getModulesMetadata());
     }
+
+    @Test
+    public void getInstance() {
+        BQRuntime rt = Bootique.app().createRuntime();
+
+        Environment env = rt.getInstance(Environment.class);
+        assertNotNull(env);
+        assertSame(env, rt.getInstance(Environment.class));
+        assertSame(env, rt.getInstance(Key.get(Environment.class)));
+    }
+
+    @Test
+    public void getInstance_NotBound() {
+        BQRuntime rt = Bootique.app().createRuntime();
+        assertThrows(NullPointerException.class, () -> rt.getInstance(BQRuntimeIT.class));
+    }
 }
@@ -0,0 +1,120 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di;
+
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collection;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BindingMetricsIT {
+
+    @Test
+    public void disabled() {
+        Injector injector = DIBootstrap.createInjector(b -> b.bind(Slow.class).inSingletonScope());
+
+        injector.getInstance(Slow.class);
+        assertTrue(injector.getBindingMetrics().isEmpty());
+    }
+
+    @Test
+    public void countAndTime() {
+        Injector injector = DIBootstrap
+                .injectorBuilder(b -> {
+                    b.bind(Slow.class).inSingletonScope();
+                    b.bind(Fast.class).withoutScope();
+                })
+                .enableBindingMetrics()
+                .build();
+
+        for (int i = 0; i < 3; i++) {
+            injector.getInstance(Slow.class);
+            injector.getInstance(Fast.class);
+        }
+
+        BindingMetrics slow = find(injector.getBindingMetrics(), Slow.class);
+        assertTrue(slow.isSingleton());
+        assertEquals(1, slow.getCount());
+        assertTrue(slow.getTotalTime().compareTo(Duration.ofMillis(30)) >= 0, slow.toString());
+        assertEquals(slow.getTotalTime(), slow.getMaxTime());
+        assertEquals(Thread.currentThread().getName(), slow.getLastThread());
+
+        BindingMetrics fast = find(injector.getBindingMetrics(), Fast.class);
+        assertFalse(fast.isSingleton());
+        assertEquals(3, fast.getCount());
+    }
+
+    @Test
+    public void exclusiveOfDependencies() {
+        Injector injector = DIBootstrap
+                .injectorBuilder(b -> {
+                    b.bind(Slow.class).withoutScope();
+                    b.bind(DependsOnSlow.class).withoutScope();
+                })
+                .enableBindingMetrics()
+                .build();
+
+        injector.getInstance(DependsOnSlow.class);
+
+        Collection<BindingMetrics> metrics = injector.getBindingMetrics();
+        BindingMetrics slow = find(metrics, Slow.class);
+        BindingMetrics dependsOnSlow = find(metrics, DependsOnSlow.class);
+
+        assertTrue(slow.getTotalTime().compareTo(Duration.ofMillis(30)) >= 0, slow.toString());
+        assertTrue(dependsOnSlow.getTotalTime().compareTo(Duration.ofMillis(30)) < 0, dependsOnSlow.toString());
+    }
+
+    @Test
+    public void notInstantiated() {
+        Injector injector = DIBootstrap
+                .injectorBuilder(b -> b.bind(Slow.class).inSingletonScope())
+                .enableBindingMetrics()
+                .build();
+
+        assertTrue(injector.getBindingMetrics().isEmpty());
+    }
+
+    private static BindingMetrics find(Collection<BindingMetrics> metrics, Class<?> type) {
+        return metrics.stream()
+                .filter(m -> m.getKey().equals(Key.get(type)))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No metrics for " + type.getName() + " in " + metrics));
+    }
+
+    public static class Slow {
+
+        public Slow() throws InterruptedException {
+            Thread.sleep(40);
+        }
+    }
+
+    public static class Fast {
+    }
+
+    public static class DependsOnSlow {
+
+        @Inject
+        public DependsOnSlow(Slow slow) {
+        }
+    }
+}
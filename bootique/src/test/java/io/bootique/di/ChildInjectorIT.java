@@ -0,0 +1,157 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.bootique.di;
+
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChildInjectorIT {
+
+    @Test
+    public void inheritedBindings() {
+        Injector parent = DIBootstrap.createInjector(b -> {
+            b.bind(Service.class).to(ServiceImpl.class).inSingletonScope();
+            b.bind(Config.class).toInstance(new Config("parent"));
+        });
+
+        Service service = parent.getInstance(Service.class);
+        Injector child = parent.createChildInjector(b -> b.bind(Config.class).toInstance(new Config("child")));
+
+        // parent singletons are shared
+        assertSame(service, child.getInstance(Service.class));
+        assertTrue(child.isSingleton(Key.get(Service.class)));
+        assertTrue(child.hasProvider(Service.class));
+
+        // overrides are only visible in the child
+        assertEquals("child", child.getInstance(Config.class).name);
+        assertEquals("parent", parent.getInstance(Config.class).name);
+        assertEquals("parent", child.getInstance(Service.class).config().name);
+    }
+
+    @Test
+    public void childBindingsDependOnParent() {
+        Injector parent = DIBootstrap.createInjector(b -> b.bind(Config.class).toInstance(new Config("parent")));
+        Injector child = parent.createChildInjector(b -> b.bind(Service.class).to(ServiceImpl.class));
+
+        assertEquals("parent", child.getInstance(Service.class).config().name);
+        assertFalse(parent.hasProvider(Service.class));
+    }
+
+    @Test
+    public void dynamicBindings() {
+        Injector parent = DIBootstrap.createInjector(b -> b.bind(Config.class).toInstance(new Config("parent")));
+        Injector child = parent.createChildInjector(b -> b.bind(Config.class).toInstance(new Config("child")));
+
+        // keys unknown to the parent are created in the child and see the child bindings
+        assertEquals("child", child.getInstance(ServiceImpl.class).config().name);
+    }
+
+    @Test
+    public void dynamicBindings_ResolvedByParentFirst() {
+        Injector parent = DIBootstrap.createInjector(b -> b.bind(Config.class).toInstance(new Config("parent")));
+        Injector child = parent.createChildInjector(b -> b.bind(Config.class).toInstance(new Config("child")));
+
+        // a dynamic binding created in the parent must not change how the child resolves the same key
+        assertEquals("parent", parent.getInstance(ServiceImpl.class).config().name);
+        assertEquals("child", child.getInstance(ServiceImpl.class).config().name);
+        assertTrue(child.hasProvider(Config.class));
+    }
+
+    @Test
+    public void injector() {
+        Injector parent = DIBootstrap.createInjector();
+        Injector child = parent.createChildInjector();
+
+        assertSame(parent, parent.getInstance(Injector.class));
+        assertSame(child, child.getInstance(Injector.class));
+    }
+
+    @Test
+    public void keys() {
+        Injector parent = DIBootstrap.createInjector(b -> b.bind(Config.class).toInstance(new Config("parent")));
+        Injector child = parent.createChildInjector(b -> b.bind(Service.class).to(ServiceImpl.class));
+
+        Set<Key<?>> keys = child.getKeys();
+        assertTrue(keys.contains(Key.get(Config.class)));
+        assertTrue(keys.contains(Key.get(Service.class)));
+        assertEquals(1, child.getKeysByType(Config.class).size());
+    }
+
+    @Test
+    public void validate() {
+        Injector parent = DIBootstrap.createInjector(b -> b.bind(Config.class).toInstance(new Config("parent")));
+        Injector child = parent.createChildInjector(b -> b.bind(Service.class).to(ServiceImpl.class));
+        child.validate();
+
+        Injector invalidChild = parent.createChildInjector(b -> b.bind(Service.class).to(InvalidServiceImpl.class));
+        assertThrows(DIRuntimeException.class, invalidChild::validate);
+    }
+
+    @Test
+    public void shutdown() {
+        Injector parent = DIBootstrap.createInjector(b -> b.bind(Config.class).toInstance(new Config("parent")));
+        Injector child = parent.createChildInjector(b -> b.bind(Service.class).to(ServiceImpl.class));
+
+        child.shutdown();
+        assertEquals("parent", parent.getInstance(Config.class).name);
+        assertThrows(DIRuntimeException.class, () -> child.getInstance(Config.class));
+    }
+
+    public static class Config {
+
+        final String name;
+
+        public Config(String name) {
+            this.name = name;
+        }
+    }
+
+    public interface Service {
+        Config config();
+    }
+
+    public static class ServiceImpl implements Service {
+
+        @Inject
+        Config config;
+
+        @Override
+        public Config config() {
+            return config;
+        }
+    }
+
+    public interface Unbound {
+    }
+
+    public static class InvalidServiceImpl implements Service {
+
+        @Inject
+        Unbound unbound;
+
+        @Override
+        public Config config() {
+            return null;
+        }
+    }
+}
@@ -23,8 +23,13 @@ import io.bootique.BQModule;
 import jakarta.inject.Inject;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class CircularDependencyIT {
 
@@ -39,6 +44,29 @@ public class CircularDependencyIT {
         assertEquals("service1 + service2.2.2", service2.exec());
     }
 
+    @Test
+    public void proxyExceptions() {
+        Injector injector = DIBootstrap.injectorBuilder(binder -> {
+            binder.bind(Service5.class).to(Service5Impl.class).inSingletonScope();
+            binder.bind(Service6.class).inSingletonScope();
+        }).build();
+
+        Service5 service5 = injector.getInstance(Service5.class);
+        Service5 proxy = injector.getInstance(Service6.class).service5;
+
+        // a proxy is created for the interface on the cycle
+        assertTrue(Proxy.isProxyClass(proxy.getClass()));
+        assertSame(service5, injector.getInstance(Service5.class));
+        assertEquals(3, proxy.add(1, 2));
+        assertEquals(5, proxy.add(2, 3));
+
+        // exceptions are rethrown as is, and not wrapped in the reflection exceptions
+        IllegalStateException e1 = assertThrows(IllegalStateException.class, () -> proxy.fail("x"));
+        assertEquals("x", e1.getMessage());
+        IOException e2 = assertThrows(IOException.class, proxy::failChecked);
+        assertEquals("checked", e2.getMessage());
+    }
+
     @Test
     public void proxyCreationFailure() {
         Injector injector = DIBootstrap.injectorBuilder(binder -> {
@@ -122,6 +150,40 @@ public class CircularDependencyIT {
         }
     }
 
+    interface Service5 {
+        int add(int a, int b);
+
+        void fail(String message);
+
+        void failChecked() throws IOException;
+    }
+
+    static class Service5Impl implements Service5 {
+
+        @Inject
+        Service6 service6;
+
+        @Override
+        public int add(int a, int b) {
+            return a + b;
+        }
+
+        @Override
+        public void fail(String message) {
+            throw new IllegalStateException(message);
+        }
+
+        @Override
+        public void failChecked() throws IOException {
+            throw new IOException("checked");
+        }
+    }
+
+    static class Service6 {
+        @Inject
+        Service5 service5;
+    }
+
     static class Service3 {
         @Inject
         Service4 service4;
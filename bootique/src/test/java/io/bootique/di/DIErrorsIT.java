@@ -81,6 +81,55 @@ public class DIErrorsIT {
         }
     }
 
+    @Test
+    public void longInjectionChainFailure_LazyTrace() {
+        Injector injector = DIBootstrap.injectorBuilder(new TestModule()).enableMethodInjection().lazyTrace().build();
+
+        try {
+            injector.getInstance(Foo.class);
+            fail("Should throw DIRuntimeException");
+        } catch (DIRuntimeException ex) {
+            String message = ex.getOriginalMessage();
+            assertTrue(message.contains("returned NULL instance"), message);
+
+            // only keys resolved via the injector are in the lazy trace
+            InjectionTraceElement[] traceElements = ex.getInjectionTrace();
+            assertEquals(7, traceElements.length);
+            assertEquals(Key.get(Qux.class), traceElements[0].getBindingKey());
+            assertEquals(Key.getMapOf(String.class, Object.class), traceElements[1].getBindingKey());
+            assertEquals(Key.get(Foo.class), traceElements[6].getBindingKey());
+            assertEquals("Invoking provider method 'createQux()' of module 'io.bootique.di.DIErrorsIT$TestModule'",
+                    traceElements[0].getMessage());
+        }
+
+        // check that trace is clean for second exception
+        try {
+            injector.getInstance(Qux.class);
+            fail("Should throw DIRuntimeException");
+        } catch (DIRuntimeException ex) {
+            InjectionTraceElement[] traceElements = ex.getInjectionTrace();
+            assertEquals(1, traceElements.length);
+            assertEquals(Key.get(Qux.class), traceElements[0].getBindingKey());
+        }
+    }
+
+    @Test
+    public void lazyTraceWithValidation() {
+        Injector injector = DIBootstrap.injectorBuilder(new TestModule())
+                .enableMethodInjection()
+                .lazyTrace()
+                .enableValidation()
+                .build();
+
+        DIRuntimeException ex = assertThrows(DIRuntimeException.class, () -> injector.getInstance(Foo.class));
+
+        // the bindings proven acyclic by validation are still in the lazy trace
+        InjectionTraceElement[] traceElements = ex.getInjectionTrace();
+        assertEquals(7, traceElements.length);
+        assertEquals(Key.get(Qux.class), traceElements[0].getBindingKey());
+        assertEquals(Key.get(Foo.class), traceElements[6].getBindingKey());
+    }
+
     @Test
     public void decorationFailure() {
         Injector injector = DIBootstrap.createInjector(binder -> {
@@ -104,6 +153,17 @@ public class DIErrorsIT {
         }
     }
 
+    @Test
+    public void constructorFailure() {
+        Injector injector = DIBootstrap.createInjector(binder -> binder.bind(Foo.class).to(FooImplThrowing.class));
+
+        DIRuntimeException ex = assertThrows(DIRuntimeException.class, () -> injector.getInstance(Foo.class));
+        assertTrue(ex.getOriginalMessage().contains("Error invoking constructor of class 'io.bootique.di.DIErrorsIT$FooImplThrowing'"),
+                ex.getOriginalMessage());
+        assertInstanceOf(IllegalStateException.class, ex.getCause());
+        assertEquals("constructor failure", ex.getCause().getMessage());
+    }
+
     private static class TestModule implements BQModule {
 
         @Override
@@ -159,6 +219,12 @@ public class DIErrorsIT {
     private static class FooImpl3 implements Foo {}
     private static class FooImpl4 implements Foo {}
 
+    private static class FooImplThrowing implements Foo {
+        FooImplThrowing() {
+            throw new IllegalStateException("constructor failure");
+        }
+    }
+
     private static class FooImpl5 implements Foo {
         @Inject
         Baz baz;
@@ -75,6 +75,39 @@ public class InjectorOptionsIT {
         assertNotSame(service1, service2);
     }
 
+    @Test
+    public void parallelEarlySetup() {
+        Injector injector = DIBootstrap.injectorBuilder(b -> {
+                    b.bind(Service.class).to(Service_Impl1.class).initOnStartup();
+                    b.bind(Consumer1.class).initOnStartup();
+                    b.bind(Consumer2.class).initOnStartup();
+                })
+                .parallelEarlySetup()
+                .build();
+
+        Consumer1 consumer1 = injector.getInstance(Consumer1.class);
+        Consumer2 consumer2 = injector.getInstance(Consumer2.class);
+        assertSame(consumer1.service, consumer2.service);
+        assertSame(consumer1.service, injector.getInstance(Service.class));
+    }
+
+    @Test
+    public void parallelEarlySetup_Errors() {
+        DIRuntimeException e = assertThrows(DIRuntimeException.class, () -> DIBootstrap.injectorBuilder(b -> {
+                    b.bind(Service.class).to(Service_Impl1.class).initOnStartup();
+                    b.bind(Failing1.class).initOnStartup();
+                    b.bind(Failing2.class).initOnStartup();
+                })
+                .parallelEarlySetup()
+                .build());
+
+        // the error of the first registered key is reported regardless of the order of execution
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+        assertEquals("failing1", e.getCause().getMessage());
+        assertEquals(1, e.getSuppressed().length);
+        assertEquals("failing2", e.getSuppressed()[0].getCause().getMessage());
+    }
+
     interface Service {
         String doIt();
     }
@@ -90,4 +123,21 @@ public class InjectorOptionsIT {
         @Inject
         Service service;
     }
+
+    static class Consumer2 {
+        @Inject
+        Service service;
+    }
+
+    static class Failing1 {
+        public Failing1() {
+            throw new IllegalStateException("failing1");
+        }
+    }
+
+    static class Failing2 {
+        public Failing2() {
+            throw new IllegalStateException("failing2");
+        }
+    }
 }
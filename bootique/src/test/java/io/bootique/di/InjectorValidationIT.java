@@ -0,0 +1,132 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di;
+
+import io.bootique.BQModule;
+import jakarta.inject.Inject;
+import jakarta.inject.Provider;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InjectorValidationIT {
+
+    @Test
+    public void valid() {
+        Injector injector = DIBootstrap.injectorBuilder(b -> {
+                    b.bind(Service.class).to(ServiceImpl.class);
+                    b.bind(Consumer.class).to(ConsumerImpl.class);
+                })
+                .enableValidation()
+                .build();
+
+        injector.validate();
+        assertInstanceOf(ServiceImpl.class, injector.getInstance(Consumer.class).getService());
+    }
+
+    @Test
+    public void allProblemsReported() {
+        Injector injector = DIBootstrap.createInjector(b -> {
+            b.bind(Consumer.class).to(ConsumerImpl_UnboundDependency.class);
+            b.bind(Service.class).to(ServiceImpl_RawProvider.class);
+        });
+
+        DIRuntimeException e = assertThrows(DIRuntimeException.class, injector::validate);
+        String message = e.getOriginalMessage();
+        assertTrue(message.contains("2 problem(s)"), message);
+        assertTrue(message.contains("<BindingKey: io.bootique.di.InjectorValidationIT$Unbound>: DI container has no binding"), message);
+        assertTrue(message.contains("Provider field io.bootique.di.InjectorValidationIT$ServiceImpl_RawProvider.provider must be parameterized"), message);
+    }
+
+    @Test
+    public void unresolvableCycle() {
+        BQModule module = b -> {
+            b.bind(Service.class).to(ServiceImpl_Cycle.class);
+            b.bind(Consumer.class).to(ConsumerImpl.class);
+        };
+
+        // resolvable with a proxy
+        DIBootstrap.injectorBuilder(module).enableValidation().build();
+
+        DIRuntimeException e = assertThrows(DIRuntimeException.class,
+                () -> DIBootstrap.injectorBuilder(module).disableProxyCreation().enableValidation().build());
+        assertTrue(e.getOriginalMessage().contains("Circular dependency between keys"), e.getOriginalMessage());
+    }
+
+    @Test
+    public void dynamicBindingsDisabled() {
+        DIRuntimeException e = assertThrows(DIRuntimeException.class, () -> DIBootstrap
+                .injectorBuilder(b -> b.bind(Consumer.class).to(ConsumerImpl.class))
+                .disableDynamicBindings()
+                .enableValidation()
+                .build());
+
+        assertTrue(e.getOriginalMessage().contains("dynamic bindings are disabled"), e.getOriginalMessage());
+    }
+
+    interface Service {
+    }
+
+    interface Consumer {
+        Service getService();
+    }
+
+    interface Unbound {
+    }
+
+    static class ServiceImpl implements Service {
+    }
+
+    static class ServiceImpl_RawProvider implements Service {
+        @SuppressWarnings("rawtypes")
+        @Inject
+        Provider provider;
+    }
+
+    static class ServiceImpl_Cycle implements Service {
+        @Inject
+        Consumer consumer;
+    }
+
+    static class ConsumerImpl implements Consumer {
+        @Inject
+        Service service;
+
+        @Override
+        public Service getService() {
+            return service;
+        }
+    }
+
+    static class ConsumerImpl_UnboundDependency implements Consumer {
+
+        private final Unbound unbound;
+
+        @Inject
+        public ConsumerImpl_UnboundDependency(Unbound unbound) {
+            this.unbound = unbound;
+        }
+
+        @Override
+        public Service getService() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,283 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.bootique.di;
+
+import io.bootique.BQModule;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LazyIT {
+
+    @Test
+    public void constructorInjection() {
+        Expensive.COUNTER.set(0);
+        Injector injector = DIBootstrap.createInjector(b -> b.bind(ConstructorConsumer.class));
+
+        ConstructorConsumer consumer = injector.getInstance(ConstructorConsumer.class);
+        assertEquals(0, Expensive.COUNTER.get());
+
+        // unscoped binding is still resolved only once per Lazy
+        assertSame(consumer.expensive.get(), consumer.expensive.get());
+        assertEquals(1, Expensive.COUNTER.get());
+
+        // each injection point gets its own Lazy
+        assertNotSame(consumer.expensive.get(), injector.getInstance(ConstructorConsumer.class).expensive.get());
+        assertEquals(2, Expensive.COUNTER.get());
+    }
+
+    @Test
+    public void fieldInjection() {
+        Expensive.COUNTER.set(0);
+        Injector injector = DIBootstrap.createInjector(b -> b.bind(FieldConsumer.class));
+
+        FieldConsumer consumer = injector.getInstance(FieldConsumer.class);
+        assertEquals(0, Expensive.COUNTER.get());
+        assertSame(consumer.expensive.get(), consumer.expensive.get());
+        assertEquals(1, Expensive.COUNTER.get());
+    }
+
+    @Test
+    public void methodInjection() {
+        Expensive.COUNTER.set(0);
+        Injector injector = DIBootstrap.injectorBuilder(b -> b.bind(MethodConsumer.class))
+                .enableMethodInjection()
+                .build();
+
+        MethodConsumer consumer = injector.getInstance(MethodConsumer.class);
+        assertEquals(0, Expensive.COUNTER.get());
+        assertSame(consumer.expensive.get(), consumer.expensive.get());
+        assertEquals(1, Expensive.COUNTER.get());
+    }
+
+    @Test
+    public void providesMethodInjection() {
+        Expensive.COUNTER.set(0);
+        Injector injector = DIBootstrap.createInjector(new ProvidesModule());
+
+        Lazy<Expensive> lazy = injector.getInstance(ProvidesConsumer.class).expensive;
+        assertEquals(0, Expensive.COUNTER.get());
+        assertSame(lazy.get(), lazy.get());
+        assertEquals(1, Expensive.COUNTER.get());
+    }
+
+    @Test
+    public void concurrentGet() throws Exception {
+        Expensive.COUNTER.set(0);
+        Injector injector = DIBootstrap.createInjector(b -> b.bind(FieldConsumer.class));
+        Lazy<Expensive> lazy = injector.getInstance(FieldConsumer.class).expensive;
+
+        List<Future<Expensive>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(lazy::get));
+            }
+
+            for (Future<Expensive> f : futures) {
+                assertSame(futures.get(0).get(), f.get());
+            }
+        }
+
+        assertEquals(1, Expensive.COUNTER.get());
+    }
+
+    @Test
+    public void optionalBinding() {
+        Injector injector = DIBootstrap.createInjector(b -> {
+            b.bindOptional(Service.class);
+            b.bind(OptionalConsumer.class);
+        });
+
+        Lazy<Service> lazy = injector.getInstance(OptionalConsumer.class).service;
+        assertNull(lazy.get());
+        assertNull(lazy.get());
+    }
+
+    @Test
+    public void decoratorConstructorInjection() {
+        Injector injector = DIBootstrap.createInjector(b -> {
+            b.bind(Service.class).to(ServiceImpl.class);
+            b.decorate(Service.class).before(ConstructorLazyDecorator.class);
+        });
+
+        assertEquals("constructor[impl]", injector.getInstance(Service.class).get());
+    }
+
+    @Test
+    public void decoratorFieldInjection() {
+        Injector injector = DIBootstrap.createInjector(b -> {
+            b.bind(Service.class).to(ServiceImpl.class);
+            b.decorate(Service.class).before(FieldLazyDecorator.class);
+        });
+
+        assertEquals("field[impl]", injector.getInstance(Service.class).get());
+    }
+
+    @Test
+    public void providesMethodReturnsLazy() {
+        DIRuntimeException e = assertThrows(DIRuntimeException.class,
+                () -> DIBootstrap.createInjector(new ProvidesLazyModule()));
+        assertTrue(e.getMessage().contains("returns Lazy"), e::getMessage);
+    }
+
+    @Test
+    public void validation() {
+        // lazy references are deferred edges and don't form an unresolvable cycle
+        Injector injector = DIBootstrap.injectorBuilder(b -> {
+            b.bind(Cycle1.class).inSingletonScope();
+            b.bind(Cycle2.class).inSingletonScope();
+        }).build();
+
+        injector.validate();
+        assertSame(injector.getInstance(Cycle1.class), injector.getInstance(Cycle2.class).cycle1.get());
+    }
+
+    public static class Expensive {
+
+        static final AtomicInteger COUNTER = new AtomicInteger();
+
+        public Expensive() {
+            COUNTER.incrementAndGet();
+        }
+    }
+
+    public static class ConstructorConsumer {
+
+        final Lazy<Expensive> expensive;
+
+        @Inject
+        public ConstructorConsumer(Lazy<Expensive> expensive) {
+            this.expensive = expensive;
+        }
+    }
+
+    public static class FieldConsumer {
+
+        @Inject
+        Lazy<Expensive> expensive;
+    }
+
+    public static class MethodConsumer {
+
+        Lazy<Expensive> expensive;
+
+        @Inject
+        public void setExpensive(Lazy<Expensive> expensive) {
+            this.expensive = expensive;
+        }
+    }
+
+    public static class ProvidesConsumer {
+
+        final Lazy<Expensive> expensive;
+
+        ProvidesConsumer(Lazy<Expensive> expensive) {
+            this.expensive = expensive;
+        }
+    }
+
+    public static class ProvidesModule implements BQModule {
+
+        @Override
+        public void configure(Binder binder) {
+        }
+
+        @Provides
+        ProvidesConsumer provideConsumer(Lazy<Expensive> expensive) {
+            return new ProvidesConsumer(expensive);
+        }
+    }
+
+    public interface Service {
+
+        String get();
+    }
+
+    public static class ServiceImpl implements Service {
+
+        @Override
+        public String get() {
+            return "impl";
+        }
+    }
+
+    public static class ConstructorLazyDecorator implements Service {
+
+        private final Lazy<Service> delegate;
+
+        @Inject
+        public ConstructorLazyDecorator(Lazy<Service> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public String get() {
+            return "constructor[" + delegate.get().get() + "]";
+        }
+    }
+
+    public static class FieldLazyDecorator implements Service {
+
+        @Inject
+        Lazy<Service> delegate;
+
+        @Override
+        public String get() {
+            return "field[" + delegate.get().get() + "]";
+        }
+    }
+
+    public static class OptionalConsumer {
+
+        @Inject
+        Lazy<Service> service;
+    }
+
+    public static class ProvidesLazyModule implements BQModule {
+
+        @Override
+        public void configure(Binder binder) {
+        }
+
+        @Provides
+        Lazy<Expensive> provideExpensive() {
+            return Expensive::new;
+        }
+    }
+
+    public static class Cycle1 {
+
+        @Inject
+        Cycle2 cycle2;
+    }
+
+    public static class Cycle2 {
+
+        @Inject
+        Lazy<Cycle1> cycle1;
+    }
+}
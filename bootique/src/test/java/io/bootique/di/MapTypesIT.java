@@ -27,6 +27,7 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -135,6 +136,58 @@ public class MapTypesIT {
         assertEquals("4", impl.getMapByString().get("4"));
     }
 
+    @Test
+    public void stableValues_Immutable() {
+        Injector injector = DIBootstrap.injectorBuilder(b -> b.bindMap(TimeUnit.class, String.class)
+                .putInstance(TimeUnit.SECONDS, "s")
+                .putInstance(TimeUnit.DAYS, "d")).immutableMultibindings().build();
+
+        Map<TimeUnit, String> m1 = injector.getInstance(Key.getMapOf(TimeUnit.class, String.class));
+        Map<TimeUnit, String> m2 = injector.getInstance(Key.getMapOf(TimeUnit.class, String.class));
+
+        assertSame(m1, m2);
+        assertEquals(Map.of(TimeUnit.SECONDS, "s", TimeUnit.DAYS, "d"), m1);
+        assertThrows(UnsupportedOperationException.class, () -> m1.put(TimeUnit.HOURS, "h"));
+    }
+
+    @Test
+    public void nullValue() {
+        Map<String, String> expected = new HashMap<>();
+        expected.put("a", "1");
+        expected.put("b", null);
+
+        for (boolean immutable : new boolean[]{false, true}) {
+            // an optional binding with no implementation contributes a null value
+            DIBootstrap.InjectorBuilder builder = DIBootstrap.injectorBuilder(b -> {
+                b.bindOptional(Key.get(String.class, "optional"));
+                b.bindMap(String.class, String.class)
+                        .putInstance("a", "1")
+                        .put("b", Key.get(String.class, "optional"));
+            });
+            if (immutable) {
+                builder.immutableMultibindings();
+            }
+
+            Injector injector = builder.build();
+            assertEquals(expected, injector.getInstance(Key.getMapOf(String.class, String.class)));
+            assertEquals(expected, injector.getInstance(Key.getMapOf(String.class, String.class)));
+        }
+    }
+
+    @Test
+    public void stableValues() {
+        Injector injector = DIBootstrap.injectorBuilder(b -> b.bindMap(String.class, String.class)
+                .putInstance("a", "1")
+                .putInstance("b", "2")).build();
+
+        Map<String, String> m1 = injector.getInstance(Key.getMapOf(String.class, String.class));
+        m1.put("c", "3");
+
+        Map<String, String> m2 = injector.getInstance(Key.getMapOf(String.class, String.class));
+        assertNotSame(m1, m2);
+        assertEquals(Map.of("a", "1", "b", "2"), m2);
+    }
+
     private static final BQModule serviceModule1 = b -> b.bind(Service.class).to(Service_Impl1.class);
 
     interface Service {}
@@ -29,6 +29,8 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class ProvidesIT {
@@ -132,6 +134,34 @@ public class ProvidesIT {
         assertEquals("service2 provider", s2.doIt());
     }
 
+    @Test
+    public void provides_Chain_LazyParameter() {
+        Injector injector = DIBootstrap.createInjector(new TestModule_ServiceChain_LazyParameter());
+
+        Service2 s2 = injector.getInstance(Service2.class);
+        assertEquals("provideService2_provideService1", s2.doIt());
+    }
+
+    @Test
+    public void provides_Chain_ProviderParameter_NoScope() {
+        Injector injector = DIBootstrap.createInjector(new TestModule_ServiceChain_ProviderParameter());
+
+        Service2 s2_1 = injector.getInstance(Service2.class);
+        Service2 s2_2 = injector.getInstance(Service2.class);
+        assertNotSame(s2_1, s2_2);
+        assertEquals("provideService2_provideService1", s2_1.doIt());
+        assertEquals("provideService2_provideService1", s2_2.doIt());
+    }
+
+    @Test
+    public void provides_Exception() {
+        Injector injector = DIBootstrap.createInjector(new TestModule_ThrowingProvider());
+
+        DIRuntimeException e = assertThrows(DIRuntimeException.class, () -> injector.getInstance(Service1.class));
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+        assertEquals("provider failure", e.getCause().getMessage());
+    }
+
     interface Service1 {
         String doIt();
     }
@@ -281,6 +311,35 @@ public class ProvidesIT {
         }
     }
 
+    public static class TestModule_ServiceChain_LazyParameter implements BQModule {
+
+        @Override
+        public void configure(Binder binder) {
+        }
+
+        @Provides
+        static Service1 provideService1() {
+            return () -> "provideService1";
+        }
+
+        @Provides
+        static Service2 provideService2(Lazy<Service1> s1) {
+            return () -> "provideService2_" + s1.get().doIt();
+        }
+    }
+
+    private static class TestModule_ThrowingProvider implements BQModule {
+
+        @Override
+        public void configure(Binder binder) {
+        }
+
+        @Provides
+        Service1 provideService1() {
+            throw new IllegalStateException("provider failure");
+        }
+    }
+
     private static class TestModule_CircularDependency implements BQModule {
         @Override
         public void configure(Binder binder) {
@@ -0,0 +1,198 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.bootique.di;
+
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RequestScopeIT {
+
+    @Test
+    public void sameInstanceWithinScope() throws Exception {
+        RequestScope scope = new RequestScope();
+        Injector injector = DIBootstrap
+                .injectorBuilder(binder -> binder.bind(TI.class).to(TC.class).in(scope))
+                .build();
+
+        TI i1 = scope.call(() -> {
+            TI i = injector.getInstance(TI.class);
+            assertSame(i, injector.getInstance(TI.class));
+            return i;
+        });
+
+        TI i2 = scope.call(() -> injector.getInstance(TI.class));
+        assertNotSame(i1, i2);
+    }
+
+    @Test
+    public void nestedScopes() throws Exception {
+        RequestScope scope = new RequestScope();
+        Injector injector = DIBootstrap
+                .injectorBuilder(binder -> binder.bind(TI.class).to(TC.class).in(scope))
+                .build();
+
+        scope.run(() -> {
+            TI outer = injector.getInstance(TI.class);
+            try {
+                assertNotSame(outer, scope.call(() -> injector.getInstance(TI.class)));
+            } catch (Exception e) {
+                fail(e);
+            }
+            assertSame(outer, injector.getInstance(TI.class));
+        });
+    }
+
+    @Test
+    public void outsideOfScope() {
+        RequestScope scope = new RequestScope();
+        Injector injector = DIBootstrap
+                .injectorBuilder(binder -> binder.bind(TI.class).to(TC.class).in(scope))
+                .build();
+
+        assertFalse(scope.isActive());
+        assertThrows(DIRuntimeException.class, () -> injector.getInstance(TI.class));
+
+        scope.run(() -> assertTrue(scope.isActive()));
+        assertFalse(scope.isActive());
+    }
+
+    @Test
+    public void beforeScopeEnd() {
+        RequestScope scope = new RequestScope();
+        Events events = new Events();
+        Injector injector = DIBootstrap
+                .injectorBuilder(binder -> {
+                    binder.bind(Events.class).toInstance(events);
+                    binder.bind(Listener1.class).in(scope);
+                    binder.bind(Listener2.class).in(scope);
+                })
+                .build();
+
+        scope.run(() -> {
+            injector.getInstance(Listener1.class);
+            injector.getInstance(Listener2.class);
+            injector.getInstance(Listener1.class);
+            assertEquals(List.of(), events.list);
+        });
+
+        assertEquals(List.of("l2", "l1"), events.list);
+    }
+
+    @Test
+    public void beforeScopeEnd_Implementation() {
+        RequestScope scope = new RequestScope();
+        Events events = new Events();
+        Injector injector = DIBootstrap
+                .injectorBuilder(binder -> {
+                    binder.bind(Events.class).toInstance(events);
+                    binder.bind(Object.class).to(Listener1.class).in(scope);
+                })
+                .build();
+
+        scope.run(() -> assertSame(injector.getInstance(Object.class), injector.getInstance(Listener1.class)));
+        assertEquals(List.of("l1"), events.list);
+    }
+
+    @Test
+    public void beforeScopeEnd_Exception() {
+        RequestScope scope = new RequestScope();
+        Events events = new Events();
+        Injector injector = DIBootstrap
+                .injectorBuilder(binder -> {
+                    binder.bind(Events.class).toInstance(events);
+                    binder.bind(Listener1.class).in(scope);
+                    binder.bind(FailingListener.class).in(scope);
+                })
+                .build();
+
+        DIRuntimeException e = assertThrows(DIRuntimeException.class, () -> scope.run(() -> {
+            injector.getInstance(Listener1.class);
+            injector.getInstance(FailingListener.class);
+        }));
+
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+        assertEquals(List.of("l1"), events.list);
+        assertFalse(scope.isActive());
+    }
+
+    @Test
+    public void beforeScopeEnd_TaskException() {
+        RequestScope scope = new RequestScope();
+        Events events = new Events();
+        Injector injector = DIBootstrap
+                .injectorBuilder(binder -> {
+                    binder.bind(Events.class).toInstance(events);
+                    binder.bind(Listener1.class).in(scope);
+                })
+                .build();
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> scope.run(() -> {
+            injector.getInstance(Listener1.class);
+            throw new IllegalArgumentException("task");
+        }));
+
+        assertEquals("task", e.getMessage());
+        assertEquals(List.of("l1"), events.list);
+    }
+
+    public static class Events {
+        final List<String> list = new ArrayList<>();
+    }
+
+    public interface TI {
+    }
+
+    public static class TC implements TI {
+    }
+
+    public static class Listener1 {
+
+        @Inject
+        Events events;
+
+        @BeforeScopeEnd
+        public void end() {
+            events.list.add("l1");
+        }
+    }
+
+    public static class Listener2 {
+
+        @Inject
+        Events events;
+
+        @BeforeScopeEnd
+        public void end() {
+            events.list.add("l2");
+        }
+    }
+
+    public static class FailingListener {
+
+        @BeforeScopeEnd
+        public void end() {
+            throw new IllegalStateException("failed");
+        }
+    }
+}
@@ -198,6 +198,52 @@ public class SetTypesIT {
         assertTrue(impl.getStringSet().contains("4"));
     }
 
+    @Test
+    public void stableElements() {
+        Injector injector = DIBootstrap.injectorBuilder(b -> {
+            b.bind(Service.class).to(Service_Impl3.class).inSingletonScope();
+            b.bindSet(Object.class).addInstance("a").add(Service.class).addInstance("b");
+        }).build();
+
+        Set<Object> s1 = injector.getInstance(Key.getSetOf(Object.class));
+        Set<Object> s2 = injector.getInstance(Key.getSetOf(Object.class));
+
+        // cached elements are returned in a mutable copy by default
+        assertNotSame(s1, s2);
+        assertEquals(asList("a", injector.getInstance(Service.class), "b"), List.copyOf(s2));
+        s1.add("c");
+        assertEquals(3, injector.getInstance(Key.getSetOf(Object.class)).size());
+    }
+
+    @Test
+    public void stableElements_Immutable() {
+        Injector injector = DIBootstrap.injectorBuilder(b -> {
+            b.bind(Service.class).to(Service_Impl3.class).inSingletonScope();
+            b.bindSet(Object.class).addInstance("a").add(Service.class).addInstance("b");
+        }).immutableMultibindings().build();
+
+        Set<Object> s1 = injector.getInstance(Key.getSetOf(Object.class));
+        Set<Object> s2 = injector.getInstance(Key.getSetOf(Object.class));
+
+        assertSame(s1, s2);
+        assertEquals(asList("a", injector.getInstance(Service.class), "b"), List.copyOf(s2));
+        assertThrows(UnsupportedOperationException.class, () -> s1.add("c"));
+    }
+
+    @Test
+    public void unstableElements_Immutable() {
+        Injector injector = DIBootstrap.injectorBuilder(b -> {
+            b.bind(Service.class).to(Service_Impl3.class);
+            b.bindSet(Object.class).addInstance("a").add(Service.class);
+        }).immutableMultibindings().build();
+
+        Set<Object> s1 = injector.getInstance(Key.getSetOf(Object.class));
+        Set<Object> s2 = injector.getInstance(Key.getSetOf(Object.class));
+
+        assertNotSame(s1, s2);
+        assertNotEquals(s1, s2);
+    }
+
     private static final BQModule serviceModule1 = b -> b.bind(Service.class).to(Service_Impl1.class);
 
     interface Service {
@@ -227,6 +273,9 @@ public class SetTypesIT {
         }
     }
 
+    private static class Service_Impl3 implements Service {
+    }
+
     public static class SetProviderModule implements BQModule {
 
         @Override
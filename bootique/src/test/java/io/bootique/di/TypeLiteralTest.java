@@ -21,6 +21,7 @@ package io.bootique.di;
 
 import org.junit.jupiter.api.Test;
 
+import java.lang.reflect.Type;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -30,6 +31,8 @@ import static org.junit.jupiter.api.Assertions.*;
 
 public class TypeLiteralTest {
 
+    private Map<String, List<? extends Number>> mapField;
+
     @Test
     public void baseEqualsInvariants() {
         TypeLiteral<Integer> typeLiteral1 = TypeLiteral.of(Integer.TYPE);
@@ -176,6 +179,25 @@ public class TypeLiteralTest {
         assertTypesNotEqual(typeLiteral2, typeLiteral4);
     }
 
+    @Test
+    public void classLiteralsCanonical() {
+        assertSame(TypeLiteral.of(String.class), TypeLiteral.of(String.class));
+        assertSame(TypeLiteral.of(String.class), TypeLiteral.of((Type) String.class));
+        assertSame(TypeLiteral.of(String.class), TypeLiteral.of(String.class, new Type[0]));
+    }
+
+    @Test
+    public void reflectedTypeEquivalence() throws NoSuchFieldException {
+        Type fieldType = TypeLiteralTest.class.getDeclaredField("mapField").getGenericType();
+        TypeLiteral<Map<String, List<? extends Number>>> typeLiteral1 = TypeLiteral.of(fieldType);
+        TypeLiteral<Map<String, List<? extends Number>>> typeLiteral2 = new TypeLiteral<Map<String, List<? extends Number>>>() {
+        };
+
+        assertTypesEqual(typeLiteral1, typeLiteral2);
+        assertEquals("java.util.Map[java.lang.String, java.util.List[io.bootique.di.TypeLiteral$WildcardMarker[java.lang.Object, java.lang.Number]]]",
+                typeLiteral1.toString());
+    }
+
     @Test
     public void normalize() {
         TypeLiteral<List<Integer>> type1 = TypeLiteral.listOf(Integer.class);
@@ -0,0 +1,171 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di;
+
+import io.bootique.di.spi.TtlScope;
+import jakarta.inject.Inject;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Resolves objects with slow construction from thousands of virtual threads at once, checking that each object is
+ * created only once, and that no virtual thread gets pinned to its carrier thread by the container locks.
+ */
+public class VirtualThreadsIT {
+
+    private static final int THREADS = 2000;
+
+    @Test
+    public void singleton() throws Exception {
+        SlowService.CREATED.set(0);
+        Injector injector = DIBootstrap.createInjector(b -> b.bind(SlowService.class).inSingletonScope());
+
+        SlowService expected = resolveConcurrently(() -> injector.getInstance(SlowService.class));
+        assertSame(expected, injector.getInstance(SlowService.class));
+        assertEquals(1, SlowService.CREATED.get());
+    }
+
+    @Test
+    public void lazy() throws Exception {
+        SlowService.CREATED.set(0);
+        Injector injector = DIBootstrap.createInjector(b -> b.bind(LazyHolder.class).inSingletonScope());
+
+        Lazy<SlowService> lazy = injector.getInstance(LazyHolder.class).service;
+        SlowService expected = resolveConcurrently(lazy::get);
+        assertSame(expected, lazy.get());
+        assertEquals(1, SlowService.CREATED.get());
+    }
+
+    @Test
+    public void ttlScope() throws Exception {
+        SlowService.CREATED.set(0);
+        TtlScope scope = new TtlScope(Duration.ofHours(1));
+        Injector injector = DIBootstrap.createInjector(b -> b.bind(SlowService.class).in(scope));
+
+        SlowService expected = resolveConcurrently(() -> injector.getInstance(SlowService.class));
+        assertSame(expected, injector.getInstance(SlowService.class));
+        assertEquals(1, SlowService.CREATED.get());
+    }
+
+    /**
+     * Runs the task from many virtual threads started at the same time, checking that all of them got the same object
+     * and no thread was pinned.
+     */
+    private static <T> T resolveConcurrently(Task<T> task) throws Exception {
+
+        List<T> results = new ArrayList<>(THREADS);
+
+        Path jfrFile = Files.createTempFile("bq-virtual-threads", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.start();
+
+            CountDownLatch start = new CountDownLatch(1);
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<T>> futures = new ArrayList<>(THREADS);
+                for (int i = 0; i < THREADS; i++) {
+                    futures.add(executor.submit(() -> {
+                        start.await();
+                        return task.get();
+                    }));
+                }
+
+                start.countDown();
+                for (Future<T> f : futures) {
+                    results.add(f.get());
+                }
+            }
+
+            recording.stop();
+            recording.dump(jfrFile);
+
+            List<String> pinned = new ArrayList<>();
+            for (RecordedEvent e : RecordingFile.readAllEvents(jfrFile)) {
+                if (isPinnedByBootique(e)) {
+                    pinned.add(e.getStackTrace().getFrames().toString());
+                }
+            }
+
+            assertTrue(pinned.isEmpty(), () -> "Virtual threads were pinned: " + pinned);
+        } finally {
+            Files.deleteIfExists(jfrFile);
+        }
+
+        T first = results.get(0);
+        results.forEach(r -> assertSame(first, r));
+        return first;
+    }
+
+    private static boolean isPinnedByBootique(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return false;
+        }
+
+        for (RecordedFrame frame : event.getStackTrace().getFrames()) {
+            String type = frame.getMethod().getType().getName();
+            if (type.startsWith("io.bootique.di.spi.")) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @FunctionalInterface
+    interface Task<T> {
+        T get() throws Exception;
+    }
+
+    public static class SlowService {
+
+        static final AtomicInteger CREATED = new AtomicInteger();
+
+        public SlowService() throws InterruptedException {
+
+            // blocks the same way an I/O call would, parking the virtual thread
+            Thread.sleep(50);
+            CREATED.incrementAndGet();
+        }
+    }
+
+    public static class LazyHolder {
+
+        @Inject
+        Lazy<SlowService> service;
+    }
+}
@@ -24,11 +24,11 @@ import io.bootique.BQModule;
 import io.bootique.di.DIBootstrap;
 import io.bootique.di.DIRuntimeException;
 import io.bootique.di.Injector;
+import io.bootique.di.Key;
 import io.bootique.di.mock.*;
 import org.junit.jupiter.api.Test;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.fail;
+import static org.junit.jupiter.api.Assertions.*;
 
 public class DefaultInjectorCircularInjectionTest {
 
@@ -54,6 +54,27 @@ public class DefaultInjectorCircularInjectionTest {
         }
     }
 
+    @Test
+    public void validate_AcyclicBindings() {
+
+        BQModule module = binder -> {
+            binder.bind(MockInterface1.class).to(MockImplementation1_DepOn2.class);
+            binder.bind(MockInterface2.class).to(MockImplementation2.class);
+            binder.bind(MockInterface3.class).to(MockImplementation3.class);
+        };
+
+        DefaultInjector injector = new DefaultInjector(module);
+        injector.validate();
+
+        assertFalse(injector.getBinding(Key.get(MockInterface1.class)).isAcyclic());
+        assertFalse(injector.getBinding(Key.get(MockInterface2.class)).isAcyclic());
+        assertTrue(injector.getBinding(Key.get(MockInterface3.class)).isAcyclic());
+
+        // cycles are still resolved with proxies
+        assertEquals("MockImplementation2Name", injector.getInstance(MockInterface1.class).getName());
+        assertEquals("XName", injector.getInstance(MockInterface3.class).getName());
+    }
+
     @Test
     public void providerInjection_CircularDependency() {
 
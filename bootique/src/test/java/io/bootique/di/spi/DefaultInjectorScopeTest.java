@@ -24,6 +24,7 @@ import io.bootique.di.BeforeScopeEnd;
 import io.bootique.di.DIBootstrap;
 import io.bootique.di.DIRuntimeException;
 import io.bootique.di.Injector;
+import io.bootique.di.Key;
 import io.bootique.di.mock.*;
 import org.junit.jupiter.api.Test;
 
@@ -202,4 +203,46 @@ public class DefaultInjectorScopeTest {
         assertNotSame(instance1, instance2);
         assertNotSame(instance2, instance3);
     }
+
+    @Test
+    public void singletonScope_WarmLookup() {
+
+        BQModule module = binder -> binder.bind(MockInterface1.class).to(MockImplementation1.class).inSingletonScope();
+        DefaultInjector injector = new DefaultInjector(module);
+
+        MockInterface1 instance1 = injector.getInstance(MockInterface1.class);
+
+        // the second lookup registers the singleton for the fast path, the rest use it
+        for (int i = 0; i < 3; i++) {
+            assertSame(instance1, injector.getInstance(MockInterface1.class));
+            assertSame(instance1, injector.getBoundInstance(Key.get(MockInterface1.class)));
+            assertSame(instance1, injector.getProvider(MockInterface1.class).get());
+        }
+
+        injector.shutdown();
+        assertThrows(DIRuntimeException.class, () -> injector.getInstance(MockInterface1.class));
+        assertThrows(DIRuntimeException.class, () -> injector.getBoundInstance(Key.get(MockInterface1.class)));
+    }
+
+    @Test
+    public void getBoundInstance() {
+
+        BQModule module = binder -> {
+            binder.bind(MockInterface1.class).to(MockImplementation1.class).withoutScope();
+            binder.bindOptional(MockInterface2.class);
+        };
+        DefaultInjector injector = new DefaultInjector(module);
+
+        assertNotNull(injector.getBoundInstance(Key.get(MockInterface1.class)));
+        assertNotSame(
+                injector.getBoundInstance(Key.get(MockInterface1.class)),
+                injector.getBoundInstance(Key.get(MockInterface1.class)));
+
+        assertNull(injector.getBoundInstance(Key.get(MockInterface2.class)));
+        assertTrue(injector.hasProvider(MockInterface2.class));
+
+        // no dynamic binding must be created
+        assertNull(injector.getBoundInstance(Key.get(MockImplementation2.class)));
+        assertFalse(injector.hasProvider(MockImplementation2.class));
+    }
 }
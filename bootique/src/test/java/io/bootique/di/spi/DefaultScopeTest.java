@@ -0,0 +1,199 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import io.bootique.di.BeforeScopeEnd;
+import io.bootique.di.DIRuntimeException;
+import io.bootique.di.mock.MockImplementation1;
+import io.bootique.di.mock.MockImplementation1_EventAnnotations;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DefaultScopeTest {
+
+    @Test
+    public void addScopeEventListener() {
+        DefaultScope scope = new DefaultScope();
+
+        scope.addScopeEventListener(new MockImplementation1());
+        assertEquals(0, scope.getListeners(BeforeScopeEnd.class).size());
+
+        // 3 methods, including a superclass method, and 1 method per each 'Counting' object
+        scope.addScopeEventListener(new MockImplementation1_EventAnnotations());
+        scope.addScopeEventListener(new Counting());
+        scope.addScopeEventListener(new Counting());
+        assertEquals(5, scope.getListeners(BeforeScopeEnd.class).size());
+
+        MockImplementation1_EventAnnotations.reset();
+        Counting.COUNTER.set(0);
+
+        scope.postScopeEvent(BeforeScopeEnd.class);
+        assertTrue(MockImplementation1_EventAnnotations.shutdown1);
+        assertTrue(MockImplementation1_EventAnnotations.shutdown2);
+        assertTrue(MockImplementation1_EventAnnotations.shutdown3);
+        assertEquals(2, Counting.COUNTER.get());
+    }
+
+    @Test
+    public void removeScopeEventListener() {
+        DefaultScope scope = new DefaultScope();
+
+        List<String> calls = new ArrayList<>();
+        Recording r1 = new Recording("r1", calls);
+        Recording r2 = new Recording("r2", calls);
+        Recording r3 = new Recording("r3", calls);
+        scope.addScopeEventListener(r1);
+        scope.addScopeEventListener(r2);
+        scope.addScopeEventListener(r3);
+
+        scope.removeScopeEventListener(r2);
+        assertEquals(2, scope.getListeners(BeforeScopeEnd.class).size());
+
+        // removing an unregistered object is a noop
+        scope.removeScopeEventListener(new Recording("r4", calls));
+
+        // dispatched in the order of registration
+        scope.postScopeEvent(BeforeScopeEnd.class);
+        assertEquals(List.of("r1", "r3"), calls);
+    }
+
+    @Test
+    public void listeners_SubclassAccess() throws NoSuchMethodException {
+        List<String> calls = new ArrayList<>();
+        Recording r1 = new Recording("r1", calls);
+        Recording r2 = new Recording("r2", calls);
+
+        SubclassScope scope = new SubclassScope();
+        scope.addScopeEventListener(r1);
+        scope.addDirectly(r2);
+
+        assertEquals(2, scope.listenersOf(BeforeScopeEnd.class).size());
+        List<Object> objects = new ArrayList<>();
+        scope.listenersOf(BeforeScopeEnd.class).forEach(b -> objects.add(b.getObject()));
+        assertEquals(List.of(r1, r2), objects);
+
+        scope.postScopeEvent(BeforeScopeEnd.class);
+        assertEquals(List.of("r1", "r2"), calls);
+    }
+
+    @Test
+    public void postScopeEvent_OrderAfterReRegistration() {
+        DefaultScope scope = new DefaultScope();
+
+        List<String> calls = new ArrayList<>();
+        Recording r1 = new Recording("r1", calls);
+        Recording r2 = new Recording("r2", calls);
+        scope.addScopeEventListener(r1);
+        scope.addScopeEventListener(r2);
+
+        // re-registered object goes to the end of the line
+        scope.removeScopeEventListener(r1);
+        scope.addScopeEventListener(r1);
+
+        scope.postScopeEvent(BeforeScopeEnd.class);
+        assertEquals(List.of("r2", "r1"), calls);
+    }
+
+    @Test
+    public void postScopeEvent_ListenerRemovesOthers() {
+        DefaultScope scope = new DefaultScope();
+
+        List<String> calls = new ArrayList<>();
+        Recording r1 = new Recording("r1", calls);
+        Recording r2 = new Recording("r2", calls);
+        Recording r3 = new Recording("r3", calls);
+
+        scope.addScopeEventListener(new Object() {
+            @BeforeScopeEnd
+            public void onShutdown() {
+                scope.removeScopeEventListener(r2);
+                scope.removeScopeEventListener(r3);
+            }
+        });
+        scope.addScopeEventListener(r1);
+        scope.addScopeEventListener(r2);
+        scope.addScopeEventListener(r3);
+
+        // all the objects registered at the time of the event are notified
+        scope.postScopeEvent(BeforeScopeEnd.class);
+        assertEquals(List.of("r1", "r2", "r3"), calls);
+    }
+
+    @Test
+    public void postScopeEvent_Error() {
+        DefaultScope scope = new DefaultScope();
+        scope.addScopeEventListener(new Failing());
+
+        DIRuntimeException e = assertThrows(DIRuntimeException.class, () -> scope.postScopeEvent(BeforeScopeEnd.class));
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+    }
+
+    static class SubclassScope extends DefaultScope {
+
+        void addDirectly(Object object) throws NoSuchMethodException {
+            listeners.get(BeforeScopeEnd.class.getName())
+                    .add(new ScopeEventBinding(object, object.getClass().getMethod("onShutdown")));
+        }
+
+        Collection<ScopeEventBinding> listenersOf(Class<?> type) {
+            return listeners.get(type.getName());
+        }
+    }
+
+    public static class Counting {
+
+        static final AtomicInteger COUNTER = new AtomicInteger();
+
+        @BeforeScopeEnd
+        public void onShutdown() {
+            COUNTER.incrementAndGet();
+        }
+    }
+
+    public static class Recording {
+
+        private final String name;
+        private final List<String> calls;
+
+        Recording(String name, List<String> calls) {
+            this.name = name;
+            this.calls = calls;
+        }
+
+        @BeforeScopeEnd
+        public void onShutdown() {
+            calls.add(name);
+        }
+    }
+
+    public static class Failing {
+
+        @BeforeScopeEnd
+        public void onShutdown() {
+            throw new IllegalStateException("failing");
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import io.bootique.di.Key;
+import jakarta.inject.Provider;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DependencyGraphTest {
+
+    // deep enough to overflow the stack if the graph traversal was recursive
+    private static final int CHAIN_LENGTH = 100_000;
+
+    @Test
+    public void longChain() {
+        DefaultInjector injector = chain(false);
+        DependencyGraph graph = new DependencyGraph(injector);
+        List<Key<?>> roots = List.of(key(0));
+
+        assertTrue(graph.cycles(roots, true).isEmpty());
+        assertEquals(CHAIN_LENGTH, graph.acyclic(roots).size());
+    }
+
+    @Test
+    public void longCycle() {
+        DefaultInjector injector = chain(true);
+        DependencyGraph graph = new DependencyGraph(injector);
+        List<Key<?>> roots = List.of(key(0));
+
+        Map<Key<?>, Integer> cycles = graph.cycles(roots, true);
+        assertEquals(CHAIN_LENGTH, cycles.size());
+        assertEquals(1, cycles.values().stream().distinct().count());
+        assertTrue(graph.acyclic(roots).isEmpty());
+    }
+
+    @Test
+    public void acyclic_DependsOnCycle() {
+        DefaultInjector injector = new DefaultInjector();
+        injector.putBinding(key(0), new LinkProvider(key(1)));
+        injector.putBinding(key(1), new LinkProvider(key(2)));
+        injector.putBinding(key(2), new LinkProvider(key(1)));
+        injector.putBinding(key(3), new LinkProvider(null));
+
+        DependencyGraph graph = new DependencyGraph(injector);
+        assertEquals(Map.of(key(1), 0, key(2), 0), graph.cycles(List.of(key(0), key(3)), true));
+        assertEquals(Set.of(key(3)), graph.acyclic(List.of(key(0), key(3))));
+    }
+
+    private static DefaultInjector chain(boolean closed) {
+        DefaultInjector injector = new DefaultInjector();
+        for (int i = 0; i < CHAIN_LENGTH; i++) {
+            Key<String> next = i + 1 < CHAIN_LENGTH ? key(i + 1) : closed ? key(0) : null;
+            injector.putBinding(key(i), new LinkProvider(next));
+        }
+        return injector;
+    }
+
+    private static Key<String> key(int i) {
+        return Key.get(String.class, "k" + i);
+    }
+
+    private static class LinkProvider implements Provider<String>, DependencyAware {
+
+        private final Key<String> next;
+
+        LinkProvider(Key<String> next) {
+            this.next = next;
+        }
+
+        @Override
+        public String get() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Class<?> collectDependencies(Dependencies dependencies) {
+            if (next != null) {
+                dependencies.add(next);
+            }
+            return String.class;
+        }
+    }
+}
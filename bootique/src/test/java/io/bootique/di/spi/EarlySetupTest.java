@@ -0,0 +1,74 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import io.bootique.BQModule;
+import io.bootique.di.Key;
+import io.bootique.di.mock.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class EarlySetupTest {
+
+    private static final Key<MockInterface1> K1 = Key.get(MockInterface1.class);
+    private static final Key<MockInterface2> K2 = Key.get(MockInterface2.class);
+    private static final Key<MockInterface3> K3 = Key.get(MockInterface3.class);
+    private static final Key<MockInterface5> K5 = Key.get(MockInterface5.class);
+
+    @Test
+    public void groups_Independent() {
+        BQModule module = binder -> {
+            binder.bind(MockInterface1.class).to(MockImplementation1.class);
+            binder.bind(MockInterface2.class).to(MockImplementation2_I3Dependency.class);
+            binder.bind(MockInterface3.class).to(MockImplementation3.class);
+        };
+
+        EarlySetup setup = new EarlySetup(new DefaultInjector(module));
+        assertEquals(List.of(List.of(K1), List.of(K2), List.of(K3)), setup.groups(List.of(K1, K2, K3)));
+    }
+
+    @Test
+    public void groups_Cycle() {
+        BQModule module = binder -> {
+            binder.bind(MockInterface1.class).to(MockImplementation1_DepOn2.class);
+            binder.bind(MockInterface2.class).to(MockImplementation2.class);
+            binder.bind(MockInterface3.class).to(MockImplementation3.class);
+        };
+
+        EarlySetup setup = new EarlySetup(new DefaultInjector(module));
+        assertEquals(List.of(List.of(K3), List.of(K1, K2)), setup.groups(List.of(K3, K1, K2)));
+    }
+
+    @Test
+    public void groups_Incomplete() {
+        BQModule module = binder -> {
+            binder.bind(MockInterface1.class).to(MockImplementation1_WithInjector.class);
+            binder.bind(MockInterface2.class).to(MockImplementation2_I3Dependency.class);
+            binder.bind(MockInterface3.class).to(MockImplementation3.class);
+            binder.bind(MockInterface5.class).toProviderInstance(MockImplementation5::new);
+        };
+
+        EarlySetup setup = new EarlySetup(new DefaultInjector(module));
+        assertEquals(List.of(List.of(K1, K5), List.of(K2)), setup.groups(List.of(K1, K2, K5)));
+    }
+}
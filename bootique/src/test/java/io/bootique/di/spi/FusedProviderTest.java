@@ -0,0 +1,128 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import io.bootique.di.DIBootstrap;
+import io.bootique.di.DIRuntimeException;
+import io.bootique.di.Key;
+import jakarta.inject.Inject;
+import jakarta.inject.Provider;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FusedProviderTest {
+
+    @Test
+    public void dynamicBinding() {
+        DefaultInjector injector = (DefaultInjector) DIBootstrap.injectorBuilder(b -> b.bind(Dependency.class))
+                .enableMethodInjection()
+                .build();
+
+        Provider<Service> provider = injector.getProvider(Service.class);
+        assertInstanceOf(FusedProvider.class, provider);
+
+        Service s = provider.get();
+        assertNotNull(s.fieldDependency);
+        assertNotNull(s.methodDependency);
+        assertNotSame(s, provider.get());
+    }
+
+    @Test
+    public void singletonBinding() {
+        DefaultInjector injector = (DefaultInjector) DIBootstrap.createInjector(b -> {
+            b.bind(Dependency.class);
+            b.bind(Service.class).inSingletonScope();
+        });
+
+        Service s = injector.getInstance(Service.class);
+        assertNotNull(s.fieldDependency);
+        assertNull(s.methodDependency);
+        assertSame(s, injector.getInstance(Service.class));
+    }
+
+    @Test
+    public void instanceBinding() {
+        Service service = new Service();
+        DefaultInjector injector = (DefaultInjector) DIBootstrap.createInjector(b -> {
+            b.bind(Dependency.class);
+            b.bind(Service.class).toInstance(service);
+        });
+
+        assertSame(service, injector.getInstance(Service.class));
+        assertNotNull(service.fieldDependency);
+    }
+
+    @Test
+    public void fuse_NotAChain() {
+        Provider<String> provider = () -> "x";
+        assertSame(provider, FusedProvider.fuse(provider));
+        assertNull(FusedProvider.fuse(null));
+    }
+
+    @Test
+    public void exception_SameAsUnfused() {
+        DefaultInjector injector = (DefaultInjector) DIBootstrap.injectorBuilder().enableMethodInjection().build();
+
+        // creates a dynamic binding
+        injector.getProvider(FailingService.class);
+        Provider<FailingService> original = injector.getBinding(Key.get(FailingService.class)).getOriginal();
+        Provider<FailingService> fused = FusedProvider.fuse(original);
+        assertNotSame(original, fused);
+
+        DIRuntimeException e1 = assertThrows(DIRuntimeException.class, original::get);
+        DIRuntimeException e2 = assertThrows(DIRuntimeException.class, fused::get);
+        assertEquals(e1.getMessage(), e2.getMessage());
+        assertSame(e1.getCause().getClass(), e2.getCause().getClass());
+    }
+
+    @Test
+    public void getName() {
+        DefaultInjector injector = (DefaultInjector) DIBootstrap.createInjector();
+
+        injector.getProvider(Dependency.class);
+        Provider<Dependency> original = injector.getBinding(Key.get(Dependency.class)).getOriginal();
+        Provider<Dependency> fused = FusedProvider.fuse(original);
+        assertEquals(DIUtil.getProviderName(original), DIUtil.getProviderName(fused));
+    }
+
+    public static class Dependency {
+    }
+
+    public static class Service {
+
+        @Inject
+        Dependency fieldDependency;
+
+        Dependency methodDependency;
+
+        @Inject
+        void setMethodDependency(Dependency methodDependency) {
+            this.methodDependency = methodDependency;
+        }
+    }
+
+    public static class FailingService {
+
+        public FailingService() {
+            throw new IllegalStateException("failing constructor");
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.bootique.di.spi;
+
+import io.bootique.di.Key;
+import io.bootique.di.TypeLiteral;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import jakarta.inject.Provider;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InjectionPointsCacheTest {
+
+    private final InjectionPointsCache cache = new InjectionPointsCache(new InjectorPredicates());
+
+    @Test
+    public void fields() {
+        FieldInjectionPoint[] fields = cache.fields(Sub.class);
+        assertEquals(3, fields.length);
+
+        // superclass fields go first
+        assertEquals("t", fields[0].getField().getName());
+        assertEquals(Key.get(String.class), fields[0].getKey());
+        assertFalse(fields[0].isProvider());
+
+        assertEquals("list", fields[1].getField().getName());
+        assertEquals(Key.get(TypeLiteral.listOf(Integer.class), "x"), fields[1].getKey());
+
+        assertEquals("provider", fields[2].getField().getName());
+        assertEquals(Key.get(Object.class), fields[2].getKey());
+        assertTrue(fields[2].isProvider());
+
+        assertSame(fields, cache.fields(Sub.class));
+    }
+
+    @Test
+    public void fields_Invalid() {
+        FieldInjectionPoint[] fields = cache.fields(Base.class);
+        assertEquals(1, fields.length);
+        assertNull(fields[0].getKey());
+        assertNotNull(fields[0].getError());
+    }
+
+    @Test
+    public void methods() {
+        MethodInjectionPoint[] methods = cache.methods(Sub.class);
+        assertEquals(1, methods.length);
+        assertEquals("setValue", methods[0].getMethod().getName());
+        assertEquals(Sub.class, methods[0].getMethod().getDeclaringClass());
+        assertEquals(1, methods[0].getArgumentCount());
+        assertEquals(Key.get(String.class), methods[0].getArgumentKey(0));
+
+        assertSame(methods, cache.methods(Sub.class));
+    }
+
+    static class Base<T> {
+
+        @Inject
+        T t;
+
+        static String staticField;
+
+        @Inject
+        void setValue(String value) {
+        }
+    }
+
+    static class Sub extends Base<String> {
+
+        @Inject
+        @Named("x")
+        List<Integer> list;
+
+        @Inject
+        Provider<Object> provider;
+
+        Object notInjected;
+
+        @Inject
+        @Override
+        void setValue(String value) {
+        }
+    }
+}
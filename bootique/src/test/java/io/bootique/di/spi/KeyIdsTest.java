@@ -0,0 +1,70 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import io.bootique.di.Key;
+import io.bootique.di.TypeLiteral;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class KeyIdsTest {
+
+    @Test
+    public void idOf() {
+        KeyIds ids = new KeyIds();
+
+        assertEquals(0, ids.idOf(Key.get(String.class)));
+        assertEquals(1, ids.idOf(Key.get(String.class, "xyz")));
+        assertEquals(2, ids.idOf(Key.getListOf(String.class)));
+
+        // equal keys share the id
+        assertEquals(0, ids.idOf(Key.get(String.class)));
+        assertEquals(2, ids.idOf(Key.get(new TypeLiteral<List<String>>() {
+        })));
+    }
+
+    @Test
+    public void find() {
+        KeyIds ids = new KeyIds();
+
+        Key<String> key = Key.get(String.class);
+        assertEquals(KeyIds.NO_ID, ids.find(key));
+
+        // looking up an unknown key doesn't assign an id
+        assertEquals(0, ids.idOf(Key.get(Integer.class)));
+        assertEquals(1, ids.idOf(key));
+        assertEquals(1, ids.find(key));
+        assertEquals(1, ids.find(Key.get(String.class)));
+    }
+
+    @Test
+    public void perInjector() {
+        KeyIds ids1 = new KeyIds();
+        KeyIds ids2 = new KeyIds();
+
+        ids1.idOf(Key.get(Integer.class));
+
+        assertEquals(1, ids1.idOf(Key.get(String.class)));
+        assertEquals(0, ids2.idOf(Key.get(String.class)));
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.bootique.di.spi;
+
+import io.bootique.di.BeforeScopeEnd;
+import io.bootique.di.DIBootstrap;
+import io.bootique.di.DIRuntimeException;
+import io.bootique.di.Injector;
+import io.bootique.di.Key;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PooledScopeTest {
+
+    @Test
+    public void borrowRelease() {
+        PooledScope scope = new PooledScope(2);
+        Injector injector = DIBootstrap.injectorBuilder(b -> b.bind(Codec.class).in(scope)).build();
+
+        Codec c1 = injector.getInstance(Codec.class);
+        Codec c2 = injector.getInstance(Codec.class);
+        assertNotSame(c1, c2);
+        assertEquals(2, scope.getBorrowedCount());
+        assertEquals(0, scope.getIdleCount());
+        assertEquals(2, scope.getCreatedCount());
+
+        scope.release(c1);
+        assertEquals(1, scope.getBorrowedCount());
+        assertEquals(1, scope.getIdleCount());
+
+        assertSame(c1, injector.getInstance(Codec.class));
+        assertEquals(2, scope.getCreatedCount());
+        assertEquals(0, scope.getIdleCount());
+    }
+
+    @Test
+    public void release_NotBorrowed() {
+        PooledScope scope = new PooledScope(2);
+        Injector injector = DIBootstrap.injectorBuilder(b -> b.bind(Codec.class).in(scope)).build();
+
+        Codec c = injector.getInstance(Codec.class);
+        scope.release(c);
+        assertThrows(DIRuntimeException.class, () -> scope.release(c));
+        assertThrows(DIRuntimeException.class, () -> scope.release(new Codec()));
+    }
+
+    @Test
+    public void release_PoolFull() {
+        PooledScope scope = new PooledScope(1);
+        Injector injector = DIBootstrap.injectorBuilder(b -> b.bind(Codec.class).in(scope)).build();
+
+        Codec c1 = injector.getInstance(Codec.class);
+        Codec c2 = injector.getInstance(Codec.class);
+
+        scope.release(c1);
+        scope.release(c2);
+
+        assertEquals(1, scope.getIdleCount());
+        assertEquals(1, scope.getDiscardedCount());
+        assertEquals(List.of(), c1.events);
+        assertEquals(List.of("before", "after"), c2.events);
+    }
+
+    @Test
+    public void implementationBinding() {
+        PooledScope scope = new PooledScope(2);
+        Injector injector = DIBootstrap.injectorBuilder(b -> b.bind(Object.class).to(Codec.class).in(scope)).build();
+
+        Object c = injector.getInstance(Object.class);
+        assertEquals(1, scope.getCreatedCount());
+        assertEquals(1, scope.getBorrowedCount());
+
+        scope.release(c);
+        assertSame(c, injector.getInstance(Codec.class));
+        assertEquals(1, scope.getCreatedCount());
+    }
+
+    @Test
+    public void injectorShutdown() {
+        PooledScope scope = new PooledScope(2);
+        Injector injector = DIBootstrap.injectorBuilder(b -> b.bind(Codec.class).in(scope)).build();
+
+        Codec c1 = injector.getInstance(Codec.class);
+        Codec c2 = injector.getInstance(Codec.class);
+        scope.release(c1);
+
+        injector.shutdown();
+
+        assertEquals(List.of("before", "after"), c1.events);
+        assertEquals(List.of("before", "after"), c2.events);
+        assertEquals(0, scope.getIdleCount());
+        assertEquals(0, scope.getBorrowedCount());
+    }
+
+    @Test
+    public void borrowed_NeverReleased() throws InterruptedException {
+        PooledScope scope = new PooledScope(2);
+        Injector injector = DIBootstrap.injectorBuilder(b -> b.bind(Codec.class).in(scope)).build();
+
+        borrowAndDrop(injector);
+        assertEquals(1, scope.getBorrowedCount());
+
+        // an instance that is never released must not be retained by the scope
+        for (int i = 0; i < 100 && scope.getBorrowedCount() > 0; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+
+        assertEquals(0, scope.getBorrowedCount());
+    }
+
+    @Test
+    public void pools_NoLongerUsed() throws InterruptedException {
+        PooledScope scope = new PooledScope(2);
+
+        for (int i = 0; i < 10; i++) {
+            scope.scope(Codec::new);
+        }
+
+        // pools dropped by their bindings (e.g. replaced by decoration) must not be retained by the scope
+        for (int i = 0; i < 100 && scope.getPoolCount() > 0; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+
+        assertEquals(0, scope.getPoolCount());
+    }
+
+    @Test
+    public void sharedBetweenInjectors() {
+        PooledScope scope = new PooledScope(2);
+        Injector injector = DIBootstrap.injectorBuilder(b -> b.bind(Codec.class).in(scope)).build();
+
+        assertThrows(DIRuntimeException.class, () -> injector.createChildInjector(b -> b.bind(Codec.class).in(scope)));
+        assertThrows(DIRuntimeException.class, () -> DIBootstrap.injectorBuilder(b -> b.bind(Codec.class).in(scope)).build());
+
+        // the owner can still use the scope for multiple bindings
+        Injector injector2 = DIBootstrap.injectorBuilder(b -> {
+            PooledScope scope2 = new PooledScope(2);
+            b.bind(Codec.class).in(scope2);
+            b.bind(Key.get(Codec.class, "other")).to(Codec.class).in(scope2);
+        }).build();
+        assertNotNull(injector2.getInstance(Key.get(Codec.class, "other")));
+    }
+
+    private static void borrowAndDrop(Injector injector) {
+        assertNotNull(injector.getInstance(Codec.class));
+    }
+
+    @Test
+    public void concurrentBorrow() throws Exception {
+        PooledScope scope = new PooledScope(4);
+        Injector injector = DIBootstrap.injectorBuilder(b -> b.bind(Codec.class).in(scope)).build();
+
+        Set<Codec> inUse = ConcurrentHashMap.newKeySet();
+        List<Future<?>> futures = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            for (int i = 0; i < 4; i++) {
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < 1000; j++) {
+                        Codec c = injector.getInstance(Codec.class);
+                        assertTrue(inUse.add(c), "Instance is shared between borrowers");
+                        inUse.remove(c);
+                        scope.release(c);
+                    }
+                }));
+            }
+
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        }
+
+        assertEquals(0, scope.getBorrowedCount());
+        assertTrue(scope.getCreatedCount() <= 4 + scope.getDiscardedCount());
+    }
+
+    public static class Codec {
+
+        final List<String> events = new ArrayList<>();
+
+        @BeforeScopeEnd
+        public void beforeEnd() {
+            events.add("before");
+        }
+
+        @AfterScopeEnd
+        public void afterEnd() {
+            events.add("after");
+        }
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.bootique.di.spi;
+
+import io.bootique.di.BeforeScopeEnd;
+import io.bootique.di.DIBootstrap;
+import io.bootique.di.DIRuntimeException;
+import io.bootique.di.Injector;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SingletonShutdownTest {
+
+    @Test
+    public void reverseDependencyOrder() {
+        Events events = new Events();
+        Injector injector = DIBootstrap.injectorBuilder(b -> {
+                    b.bind(Events.class).toInstance(events);
+                    b.bind(Pool.class).inSingletonScope();
+                    b.bind(Dao1.class).inSingletonScope();
+                    b.bind(Dao2.class).inSingletonScope();
+                    b.bind(App.class).inSingletonScope();
+                })
+                .parallelShutdown()
+                .build();
+
+        injector.getInstance(App.class);
+        injector.shutdown();
+
+        assertEquals(4, events.list.size(), events.list.toString());
+        assertEquals("app", events.list.get(0));
+        assertTrue(events.list.subList(1, 3).containsAll(List.of("dao1", "dao2")));
+        assertEquals("pool", events.list.get(3));
+    }
+
+    @Test
+    public void ownedScopesFirst() {
+        Events events = new Events();
+        Injector injector = DIBootstrap.injectorBuilder(b -> {
+                    b.bind(Events.class).toInstance(events);
+                    b.bind(Pool.class).inSingletonScope();
+                    b.bind(Dao1.class).in(new TtlScope(Duration.ofHours(1)));
+                })
+                .parallelShutdown()
+                .build();
+
+        assertNotNull(injector.getInstance(Dao1.class));
+
+        // "Dao1" waits for another party on the barrier when closed
+        Thread helper = Thread.ofVirtual().start(() -> {
+            try {
+                events.daoBarrier.await(5, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+
+        // expiring instances depend on singletons, so they must be shut down before singletons are notified
+        injector.shutdown();
+        assertEquals(List.of("dao1", "pool"), events.list);
+        assertDoesNotThrow(() -> helper.join());
+    }
+
+    @Test
+    public void errors() {
+        Events events = new Events();
+        Injector injector = DIBootstrap.injectorBuilder(b -> {
+                    b.bind(Events.class).toInstance(events);
+                    b.bind(Pool.class).inSingletonScope();
+                    b.bind(Failing1.class).inSingletonScope();
+                    b.bind(Failing2.class).inSingletonScope();
+                })
+                .parallelShutdown()
+                .build();
+
+        injector.getInstance(Failing1.class);
+        injector.getInstance(Failing2.class);
+
+        DIRuntimeException e = assertThrows(DIRuntimeException.class, injector::shutdown);
+
+        // the error of the first notified singleton is reported, i.e. the last one registered
+        assertEquals("failing2", e.getCause().getMessage());
+        assertEquals(1, e.getSuppressed().length);
+        assertEquals("failing1", e.getSuppressed()[0].getCause().getMessage());
+
+        // dependencies are still notified, and the injector is shut down
+        assertTrue(events.list.contains("pool"));
+        assertThrows(DIRuntimeException.class, () -> injector.getInstance(Pool.class));
+    }
+
+    @Test
+    public void timeout() {
+        Events events = new Events();
+        Injector injector = DIBootstrap.injectorBuilder(b -> {
+                    b.bind(Events.class).toInstance(events);
+                    b.bind(Pool.class).inSingletonScope();
+                    b.bind(Slow.class).inSingletonScope();
+                })
+                .parallelShutdown(Duration.ofMillis(100))
+                .build();
+
+        injector.getInstance(Slow.class);
+
+        DIRuntimeException e = assertThrows(DIRuntimeException.class, injector::shutdown);
+        assertTrue(e.getMessage().contains("Timed out"), e.getMessage());
+        assertEquals(List.of("pool"), events.list);
+    }
+
+    public static class Events {
+        final List<String> list = new CopyOnWriteArrayList<>();
+
+        // independent singletons wait for each other to prove they are notified concurrently
+        final CyclicBarrier daoBarrier = new CyclicBarrier(2);
+    }
+
+    public static class Pool {
+
+        @Inject
+        Events events;
+
+        @BeforeScopeEnd
+        public void close() {
+            events.list.add("pool");
+        }
+    }
+
+    public static class Dao1 {
+
+        @Inject
+        Events events;
+
+        @Inject
+        Pool pool;
+
+        @BeforeScopeEnd
+        public void close() throws Exception {
+            events.daoBarrier.await(5, TimeUnit.SECONDS);
+            events.list.add("dao1");
+        }
+    }
+
+    public static class Dao2 {
+
+        @Inject
+        Events events;
+
+        @Inject
+        Pool pool;
+
+        @BeforeScopeEnd
+        public void close() throws Exception {
+            events.daoBarrier.await(5, TimeUnit.SECONDS);
+            events.list.add("dao2");
+        }
+    }
+
+    public static class App {
+
+        @Inject
+        Events events;
+
+        @Inject
+        Dao1 dao1;
+
+        @Inject
+        Dao2 dao2;
+
+        @BeforeScopeEnd
+        public void close() {
+            events.list.add("app");
+        }
+    }
+
+    public static class Failing1 {
+
+        @Inject
+        Pool pool;
+
+        @BeforeScopeEnd
+        public void close() {
+            throw new IllegalStateException("failing1");
+        }
+    }
+
+    public static class Failing2 {
+
+        @Inject
+        Pool pool;
+
+        @BeforeScopeEnd
+        public void close() {
+            throw new IllegalStateException("failing2");
+        }
+    }
+
+    public static class Slow {
+
+        @Inject
+        Pool pool;
+
+        @BeforeScopeEnd
+        public void close() throws InterruptedException {
+            Thread.sleep(5_000);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import io.bootique.di.Key;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SingletonTableTest {
+
+    @Test
+    public void putGetRemove() {
+        SingletonTable table = new SingletonTable(new KeyIds());
+        Key<String> key = Key.get(String.class);
+
+        assertNull(table.get(key));
+
+        table.put(key, "a", () -> true);
+        assertEquals("a", table.get(Key.get(String.class)));
+
+        table.remove(key);
+        assertNull(table.get(key));
+    }
+
+    @Test
+    public void put_Guarded() {
+        SingletonTable table = new SingletonTable(new KeyIds());
+        Key<String> key = Key.get(String.class);
+
+        // e.g. the binding was replaced after the instance was obtained
+        table.put(key, "stale", () -> false);
+        assertNull(table.get(key));
+    }
+
+    @Test
+    public void put_Expand() {
+        KeyIds ids = new KeyIds();
+        SingletonTable table = new SingletonTable(ids);
+
+        for (int i = 0; i < 200; i++) {
+            table.put(Key.get(String.class, "k" + i), "v" + i, () -> true);
+        }
+
+        for (int i = 0; i < 200; i++) {
+            assertEquals("v" + i, table.get(Key.get(String.class, "k" + i)));
+        }
+    }
+}
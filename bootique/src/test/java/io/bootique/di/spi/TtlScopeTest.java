@@ -0,0 +1,218 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.bootique.di.spi;
+
+import io.bootique.di.BeforeScopeEnd;
+import io.bootique.di.DIBootstrap;
+import io.bootique.di.DIRuntimeException;
+import io.bootique.di.Injector;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TtlScopeTest {
+
+    @Test
+    public void notExpired() {
+        TtlScope scope = new TtlScope(Duration.ofHours(1));
+        Injector injector = DIBootstrap.injectorBuilder(b -> b.bind(Table.class).in(scope)).build();
+
+        assertSame(injector.getInstance(Table.class), injector.getInstance(Table.class));
+    }
+
+    @Test
+    public void expired() {
+        List<Runnable> refreshes = new ArrayList<>();
+        TtlScope scope = new TtlScope(Duration.ZERO, refreshes::add);
+        Injector injector = DIBootstrap.injectorBuilder(b -> b.bind(Table.class).in(scope)).build();
+
+        Table t1 = injector.getInstance(Table.class);
+
+        // expired instance is returned until the refresh is complete, and only one refresh is started
+        assertSame(t1, injector.getInstance(Table.class));
+        assertSame(t1, injector.getInstance(Table.class));
+        assertEquals(1, refreshes.size());
+
+        refreshes.remove(0).run();
+        assertEquals(List.of("before", "after"), t1.events);
+
+        Table t2 = injector.getInstance(Table.class);
+        assertNotSame(t1, t2);
+        assertEquals(List.of(), t2.events);
+        assertEquals(1, refreshes.size());
+    }
+
+    @Test
+    public void refreshFailure() {
+        AtomicInteger counter = new AtomicInteger();
+        List<Runnable> refreshes = new ArrayList<>();
+        TtlScope scope = new TtlScope(Duration.ZERO, refreshes::add);
+        Injector injector = DIBootstrap.injectorBuilder(b -> b.bind(Table.class).toProviderInstance(() -> {
+            if (counter.getAndIncrement() > 0) {
+                throw new IllegalStateException("failed");
+            }
+            return new Table();
+        }).in(scope)).build();
+
+        Table t1 = injector.getInstance(Table.class);
+        assertSame(t1, injector.getInstance(Table.class));
+
+        // the failure is not rethrown on the refresh thread, but is reported to the next caller
+        refreshes.remove(0).run();
+        assertThrows(DIRuntimeException.class, () -> injector.getInstance(Table.class));
+
+        assertSame(t1, injector.getInstance(Table.class));
+        assertEquals(List.of(), t1.events);
+        assertEquals(1, refreshes.size());
+    }
+
+    @Test
+    public void refreshRejected() {
+        AtomicBoolean reject = new AtomicBoolean(true);
+        List<Runnable> refreshes = new ArrayList<>();
+        TtlScope scope = new TtlScope(Duration.ZERO, r -> {
+            if (reject.get()) {
+                throw new RejectedExecutionException("rejected");
+            }
+            refreshes.add(r);
+        });
+        Injector injector = DIBootstrap.injectorBuilder(b -> b.bind(Table.class).in(scope)).build();
+
+        Table t1 = injector.getInstance(Table.class);
+        assertThrows(DIRuntimeException.class, () -> injector.getInstance(Table.class));
+
+        // the refresh is retried once the executor accepts it
+        reject.set(false);
+        assertSame(t1, injector.getInstance(Table.class));
+        assertEquals(1, refreshes.size());
+
+        refreshes.remove(0).run();
+        assertNotSame(t1, injector.getInstance(Table.class));
+    }
+
+    @Test
+    public void backgroundRefresh() throws InterruptedException {
+        CountDownLatch building = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger counter = new AtomicInteger();
+
+        TtlScope scope = new TtlScope(Duration.ZERO);
+        Injector injector = DIBootstrap.injectorBuilder(b -> b.bind(Table.class).toProviderInstance(() -> {
+            if (counter.getAndIncrement() > 0) {
+                building.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+            return new Table();
+        }).in(scope)).build();
+
+        Table t1 = injector.getInstance(Table.class);
+        assertSame(t1, injector.getInstance(Table.class));
+        assertTrue(building.await(5, TimeUnit.SECONDS));
+
+        // readers are not blocked by the refresh in progress
+        assertSame(t1, injector.getInstance(Table.class));
+
+        release.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (t1.events.size() < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+
+        assertEquals(List.of("before", "after"), t1.events);
+    }
+
+    @Test
+    public void gracePeriod() throws InterruptedException {
+        List<Runnable> tasks = new CopyOnWriteArrayList<>();
+        TtlScope scope = new TtlScope(Duration.ZERO, Duration.ofMillis(1), tasks::add);
+        Injector injector = DIBootstrap.injectorBuilder(b -> b.bind(Table.class).in(scope)).build();
+
+        Table t1 = injector.getInstance(Table.class);
+        assertSame(t1, injector.getInstance(Table.class));
+        tasks.remove(0).run();
+
+        // the replaced instance is not ended right away, as the callers may still be using it
+        assertEquals(List.of(), t1.events);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (tasks.isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+
+        tasks.remove(0).run();
+        assertEquals(List.of("before", "after"), t1.events);
+    }
+
+    @Test
+    public void gracePeriod_InjectorShutdown() {
+        List<Runnable> tasks = new CopyOnWriteArrayList<>();
+        TtlScope scope = new TtlScope(Duration.ZERO, Duration.ofHours(1), tasks::add);
+        Injector injector = DIBootstrap.injectorBuilder(b -> b.bind(Table.class).in(scope)).build();
+
+        Table t1 = injector.getInstance(Table.class);
+        assertSame(t1, injector.getInstance(Table.class));
+        tasks.remove(0).run();
+        Table t2 = injector.getInstance(Table.class);
+        assertNotSame(t1, t2);
+
+        // retiring instances are ended on shutdown along with the current ones
+        injector.shutdown();
+        assertEquals(List.of("before", "after"), t1.events);
+        assertEquals(List.of("before", "after"), t2.events);
+    }
+
+    @Test
+    public void injectorShutdown() {
+        TtlScope scope = new TtlScope(Duration.ofHours(1));
+        Injector injector = DIBootstrap.injectorBuilder(b -> b.bind(Table.class).in(scope)).build();
+
+        Table t = injector.getInstance(Table.class);
+        injector.shutdown();
+        assertEquals(List.of("before", "after"), t.events);
+    }
+
+    public static class Table {
+
+        final List<String> events = new CopyOnWriteArrayList<>();
+
+        @BeforeScopeEnd
+        public void beforeEnd() {
+            events.add("before");
+        }
+
+        @AfterScopeEnd
+        public void afterEnd() {
+            events.add("after");
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.help.di;
+
+import io.bootique.Bootique;
+import io.bootique.command.CommandOutcome;
+import io.bootique.log.BootLogger;
+import io.bootique.log.DefaultBootLogger;
+import io.bootique.unit.TestAppManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DIReportCommandIT {
+
+    @RegisterExtension
+    final TestAppManager appManager = new TestAppManager();
+
+    @Test
+    public void report() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BootLogger logger = new DefaultBootLogger(false, new PrintStream(out), new PrintStream(System.err));
+
+        CommandOutcome outcome = appManager.run(Bootique.app("--bq-di-report=100").bootLogger(logger));
+        assertTrue(outcome.isSuccess(), outcome.toString());
+
+        String report = out.toString();
+        assertTrue(report.contains("Slowest DI bindings"), report);
+        assertTrue(report.contains(DIReportCommand.class.getName()), report);
+    }
+
+    @Test
+    public void report_Top() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BootLogger logger = new DefaultBootLogger(false, new PrintStream(out), new PrintStream(System.err));
+
+        CommandOutcome outcome = appManager.run(Bootique.app("--bq-di-report=1").bootLogger(logger));
+        assertTrue(outcome.isSuccess(), outcome.toString());
+
+        // title, header and a single binding
+        assertEquals(3, out.toString().lines().filter(l -> !l.isBlank()).count(), out.toString());
+    }
+
+    @Test
+    public void report_InvalidTop() {
+        BootLogger logger = new DefaultBootLogger(false, new PrintStream(new ByteArrayOutputStream()), new PrintStream(new ByteArrayOutputStream()));
+
+        for (String top : List.of("-1", "0", "x")) {
+            CommandOutcome outcome = appManager.run(Bootique.app("--bq-di-report=" + top).bootLogger(logger));
+            assertFalse(outcome.isSuccess(), top);
+            assertTrue(outcome.getMessage().startsWith("Invalid number of bindings"), outcome.getMessage());
+        }
+    }
+
+    @Test
+    public void isMetricsRequested() {
+        assertFalse(DIReportCommand.isMetricsRequested(new String[]{"--help"}));
+        assertTrue(DIReportCommand.isMetricsRequested(new String[]{"--bq-di-report"}));
+        assertTrue(DIReportCommand.isMetricsRequested(new String[]{"--bq-di-report=5"}));
+    }
+
+    @Test
+    public void report_NoMetrics() {
+        String report = DIReportCommand.report(List.of(), 10);
+        assertTrue(report.startsWith("No DI binding metrics were collected"), report);
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.jfr;
+
+import io.bootique.BQCoreModule;
+import io.bootique.BQRuntime;
+import io.bootique.Bootique;
+import io.bootique.cli.Cli;
+import io.bootique.command.CommandDecorator;
+import io.bootique.command.CommandOutcome;
+import io.bootique.command.CommandWithMetadata;
+import io.bootique.config.ConfigurationFactory;
+import io.bootique.meta.application.CommandMetadata;
+import io.bootique.shutdown.ShutdownManager;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JfrEventsIT {
+
+    private static final List<String> EVENTS = List.of(
+            "io.bootique.InjectorCreate",
+            "io.bootique.EarlySetup",
+            "io.bootique.ConfigLoad",
+            "io.bootique.Config",
+            "io.bootique.Command",
+            "io.bootique.ShutdownTask");
+
+    @Test
+    public void events() throws Exception {
+
+        List<RecordedEvent> events = record(true, () -> {
+            BQRuntime runtime = Bootique.app("--jfr-main")
+                    .module(b -> {
+                        b.bind(EarlyService.class).initOnStartup();
+                        BQCoreModule.extend(b)
+                                .setProperty("bq.x", "xval")
+                                .addCommand(new MainCommand())
+                                .decorateCommand(MainCommand.class, CommandDecorator.beforeRun(new BeforeCommand()));
+                    })
+                    .createRuntime();
+
+            assertEquals("xval", runtime.getInstance(ConfigurationFactory.class).config(String.class, "x"));
+            runtime.getInstance(ShutdownManager.class).onShutdown(new EarlyService(), s -> {});
+
+            assertTrue(runtime.run().isSuccess());
+            runtime.shutdown();
+        });
+
+        Set<String> names = events.stream().map(e -> e.getEventType().getName()).collect(Collectors.toSet());
+        assertEquals(Set.copyOf(EVENTS), names);
+
+        assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().equals("io.bootique.EarlySetup")
+                && e.getString("key").contains(EarlyService.class.getName())));
+        assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().equals("io.bootique.Config")
+                && "x".equals(e.getString("prefix"))
+                && String.class.getName().equals(e.getString("type"))));
+        assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().equals("io.bootique.Command")
+                && "jfr-main".equals(e.getString("command"))
+                && e.getBoolean("main")
+                && e.getBoolean("success")));
+        assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().equals("io.bootique.Command")
+                && "jfr-before".equals(e.getString("command"))
+                && !e.getBoolean("main")));
+        assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().equals("io.bootique.ShutdownTask")
+                && EarlyService.class.getName().equals(e.getString("objectType"))));
+    }
+
+    @Test
+    public void events_Failures() throws Exception {
+
+        List<RecordedEvent> events = record(true, () -> {
+            BQRuntime runtime = Bootique.app("--jfr-failing")
+                    .module(b -> BQCoreModule.extend(b)
+                            .setProperty("bq.x", "xval")
+                            .addCommand(new FailingCommand()))
+                    .createRuntime();
+
+            assertThrows(RuntimeException.class, () -> runtime.getInstance(ConfigurationFactory.class).config(Integer.class, "x"));
+            assertThrows(RuntimeException.class, runtime::run);
+            runtime.shutdown();
+
+            assertThrows(RuntimeException.class, () -> Bootique.app()
+                    .module(b -> b.bind(FailingService.class).initOnStartup())
+                    .createRuntime());
+
+            BQRuntime missingConfig = Bootique.app("-c", "no-such-config.yml").createRuntime();
+            assertThrows(RuntimeException.class, () -> missingConfig.getInstance(ConfigurationFactory.class));
+            missingConfig.shutdown();
+        });
+
+        assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().equals("io.bootique.ConfigLoad")
+                && !e.getBoolean("success")));
+
+        assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().equals("io.bootique.Config")
+                && "x".equals(e.getString("prefix"))
+                && !e.getBoolean("success")));
+        assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().equals("io.bootique.Command")
+                && "jfr-failing".equals(e.getString("command"))
+                && !e.getBoolean("success")));
+        assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().equals("io.bootique.EarlySetup")
+                && e.getString("key").contains(FailingService.class.getName())
+                && !e.getBoolean("success")));
+        assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().equals("io.bootique.InjectorCreate")
+                && !e.getBoolean("success")));
+        assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().equals("io.bootique.InjectorCreate")
+                && e.getBoolean("success")));
+    }
+
+    @Test
+    public void disabledByDefault() throws Exception {
+        List<RecordedEvent> events = record(false, () -> Bootique.app("--help").createRuntime().run());
+        assertTrue(events.isEmpty(), () -> "Unexpected events: " + events);
+    }
+
+    private static List<RecordedEvent> record(boolean enableEvents, Runnable task) throws Exception {
+        Path jfrFile = Files.createTempFile("bq-jfr-events", ".jfr");
+        try (Recording recording = new Recording()) {
+            if (enableEvents) {
+                EVENTS.forEach(recording::enable);
+            }
+
+            recording.start();
+            task.run();
+            recording.stop();
+            recording.dump(jfrFile);
+
+            return RecordingFile.readAllEvents(jfrFile)
+                    .stream()
+                    .filter(e -> e.getEventType().getName().startsWith("io.bootique."))
+                    .toList();
+        } finally {
+            Files.deleteIfExists(jfrFile);
+        }
+    }
+
+    public static class EarlyService {
+    }
+
+    public static class FailingService {
+
+        public FailingService() {
+            throw new IllegalStateException("Test failure");
+        }
+    }
+
+    static class FailingCommand extends CommandWithMetadata {
+
+        FailingCommand() {
+            super(CommandMetadata.builder("jfr-failing").build());
+        }
+
+        @Override
+        public CommandOutcome run(Cli cli) {
+            throw new IllegalStateException("Test failure");
+        }
+    }
+
+    static class MainCommand extends CommandWithMetadata {
+
+        MainCommand() {
+            super(CommandMetadata.builder("jfr-main").build());
+        }
+
+        @Override
+        public CommandOutcome run(Cli cli) {
+            return CommandOutcome.succeeded();
+        }
+    }
+
+    static class BeforeCommand extends CommandWithMetadata {
+
+        BeforeCommand() {
+            super(CommandMetadata.builder("jfr-before").build());
+        }
+
+        @Override
+        public CommandOutcome run(Cli cli) {
+            return CommandOutcome.succeeded();
+        }
+    }
+}
@@ -29,12 +29,20 @@ import io.bootique.command.ManagedCommand;
 import io.bootique.meta.application.ApplicationMetadata;
 import io.bootique.meta.application.CommandMetadata;
 import io.bootique.meta.application.OptionMetadata;
+import joptsimple.OptionParser;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -117,6 +125,43 @@ public class JoptCliFactoryTest {
         assertEquals(createCli("a --me=v1 -- --other v2").standaloneArguments(), "a", "--other", "v2");
     }
 
+    @Test
+    public void createCli_ConcurrentFromVirtualThreads() throws Exception {
+
+        addCommand(CommandMetadata.builder("c1").addOption(OptionMetadata.builder("me").build()));
+
+        CommandManager commandManager = new DefaultCommandManager(commands);
+        ApplicationMetadata.Builder appBuilder = ApplicationMetadata.builder();
+        commands.values().forEach(mc -> appBuilder.addCommand(mc.getCommand().getMetadata()));
+
+        AtomicInteger parsersCreated = new AtomicInteger();
+        JoptCliFactory factory = new JoptCliFactory(() -> commandManager, appBuilder.build()) {
+            @Override
+            protected OptionParser createParser() {
+                parsersCreated.incrementAndGet();
+                return super.createParser();
+            }
+        };
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Cli>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 1000; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return factory.createCli(new String[]{"--me"});
+                }));
+            }
+
+            start.countDown();
+            for (Future<Cli> f : futures) {
+                assertTrue(f.get().hasOption("me"));
+            }
+        }
+
+        org.junit.jupiter.api.Assertions.assertEquals(1, parsersCreated.get());
+    }
+
     private void assertEquals(Collection<String> result, String... expected) {
         assertArrayEquals(expected, result.toArray());
     }
@@ -0,0 +1,181 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.trace;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.bootique.BQCoreModule;
+import io.bootique.BQRuntime;
+import io.bootique.Bootique;
+import io.bootique.config.ConfigurationFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StartupTracerIT {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void trace() throws Exception {
+
+        Path file = tempDir.resolve("trace.json");
+
+        System.setProperty(StartupTracer.TRACE_PROPERTY, file.toString());
+        BQRuntime runtime;
+        try {
+            runtime = Bootique.app("--help")
+                    .module(b -> {
+                        b.bind(EarlyService.class).initOnStartup();
+                        BQCoreModule.extend(b).setProperty("bq.x", "xval");
+                    })
+                    .createRuntime();
+        } finally {
+            System.clearProperty(StartupTracer.TRACE_PROPERTY);
+        }
+
+        assertTrue(StartupTracer.isActive());
+        assertEquals("xval", runtime.getInstance(ConfigurationFactory.class).config(String.class, "x"));
+        assertFalse(Files.exists(file));
+
+        // the trace is written once the main command has started
+        assertTrue(runtime.run().isSuccess());
+        assertFalse(StartupTracer.isActive());
+        assertTrue(Files.exists(file));
+        runtime.shutdown();
+
+        JsonNode trace = new ObjectMapper().readTree(file.toFile());
+        List<JsonNode> spans = spans(trace);
+
+        List<String> names = spans.stream().map(e -> e.get("name").asText()).toList();
+        assertTrue(names.contains("createRuntime"), names::toString);
+        assertTrue(names.contains("ModulesSorter"), names::toString);
+        assertTrue(names.contains("createInjector"), names::toString);
+        assertTrue(names.contains("configure BQCoreModule"), names::toString);
+        assertTrue(names.contains("@Provides BQCoreModule"), names::toString);
+        assertTrue(names.contains("applyDecorators"), names::toString);
+        assertTrue(names.contains("earlySetup"), names::toString);
+        assertTrue(names.stream().anyMatch(n -> n.startsWith("earlySetup ") && n.contains(EarlyService.class.getName())), names::toString);
+        assertTrue(names.contains("BQRuntimeListeners"), names::toString);
+        assertTrue(names.contains("CLI parsing"), names::toString);
+        assertTrue(names.contains("ModulesMetadata"), names::toString);
+        assertTrue(names.contains("config load"), names::toString);
+
+        // spans are nested within "createRuntime" on the same thread
+        JsonNode root = span(spans, "createRuntime");
+        JsonNode injector = span(spans, "createInjector");
+        assertEquals(root.get("tid").asLong(), injector.get("tid").asLong());
+        assertTrue(injector.get("ts").asDouble() >= root.get("ts").asDouble());
+        assertTrue(injector.get("ts").asDouble() + injector.get("dur").asDouble()
+                <= root.get("ts").asDouble() + root.get("dur").asDouble());
+
+        assertTrue(trace.get("traceEvents").findValues("ph").stream().anyMatch(ph -> "M".equals(ph.asText())));
+    }
+
+    @Test
+    public void trace_WrittenOnShutdownIfNotRun() throws Exception {
+
+        Path file = tempDir.resolve("trace.json");
+
+        System.setProperty(StartupTracer.TRACE_PROPERTY, file.toString());
+        BQRuntime runtime;
+        try {
+            runtime = Bootique.app().createRuntime();
+        } finally {
+            System.clearProperty(StartupTracer.TRACE_PROPERTY);
+        }
+
+        assertTrue(StartupTracer.isActive());
+        runtime.shutdown();
+        assertFalse(StartupTracer.isActive());
+
+        List<String> names = spans(new ObjectMapper().readTree(file.toFile())).stream().map(e -> e.get("name").asText()).toList();
+        assertTrue(names.contains("createRuntime"), names::toString);
+    }
+
+    @Test
+    public void maxSpans() throws Exception {
+
+        Path file = tempDir.resolve("trace.json");
+        StartupTracer tracer = StartupTracer.start(file, 2);
+        assertNotNull(tracer);
+
+        try {
+            StartupTracer.run("s1", () -> {});
+            StartupTracer.run("s2", () -> {});
+            StartupTracer.run("s3", () -> {});
+        } finally {
+            tracer.close();
+        }
+
+        List<String> names = spans(new ObjectMapper().readTree(file.toFile())).stream().map(e -> e.get("name").asText()).toList();
+        assertEquals(List.of("s1", "s2"), names);
+    }
+
+    @Test
+    public void start_InvalidMaxSpans() {
+        assertThrows(IllegalArgumentException.class, () -> StartupTracer.start(tempDir.resolve("trace.json"), 0));
+        assertFalse(StartupTracer.isActive());
+    }
+
+    @Test
+    public void disabledByDefault() {
+        assertNull(System.getProperty(StartupTracer.TRACE_PROPERTY));
+
+        BQRuntime runtime = Bootique.app().createRuntime();
+        assertFalse(StartupTracer.isActive());
+        runtime.shutdown();
+    }
+
+    @Test
+    public void spanWhenInactive() {
+        assertFalse(StartupTracer.isActive());
+        try (StartupTracer.Span s1 = StartupTracer.span("x"); StartupTracer.Span s2 = StartupTracer.span("y", this)) {
+            assertSame(s1, s2);
+        }
+
+        StartupTracer.run(() -> fail("Span name must not be built when tracing is inactive"), () -> {});
+        assertEquals("x", StartupTracer.call("x", () -> "x"));
+    }
+
+    private static List<JsonNode> spans(JsonNode trace) {
+        List<JsonNode> spans = new ArrayList<>();
+        trace.get("traceEvents").forEach(e -> {
+            if ("X".equals(e.get("ph").asText())) {
+                spans.add(e);
+            }
+        });
+        return spans;
+    }
+
+    private static JsonNode span(List<JsonNode> spans, String name) {
+        return spans.stream().filter(e -> name.equals(e.get("name").asText())).findFirst().orElseThrow();
+    }
+
+    static class EarlyService {
+    }
+}